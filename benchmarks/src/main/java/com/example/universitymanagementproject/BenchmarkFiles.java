@@ -0,0 +1,30 @@
+package com.example.universitymanagementproject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Temporary directories for generated workbooks, so benchmarks never touch the real UMS_Data.xlsx.
+ */
+final class BenchmarkFiles {
+    private BenchmarkFiles() {
+    }
+
+    static Path createDirectory() throws IOException {
+        return Files.createTempDirectory("ums-bench");
+    }
+
+    static void delete(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.universitymanagementproject;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Credential loading and lookup as done by UniversityManagementProject at login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CredentialBenchmark {
+    @Param({"1000", "100000"})
+    public int students;
+
+    private Path directory;
+    private String workbook;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.createDirectory();
+        workbook = SyntheticWorkbook.generate(directory.resolve("UMS_Data.xlsx"), 100, students, 1_000).toString();
+        UniversityManagementProject.loadUserData(workbook);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public int loadUserData() {
+        UniversityManagementProject.studentCredentials.clear();
+        UniversityManagementProject.facultyCredentials.clear();
+        UniversityManagementProject.loadUserData(workbook);
+        return UniversityManagementProject.studentCredentials.size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean lookupStudent() {
+        int index = 1 + ThreadLocalRandom.current().nextInt(students);
+        String password = UniversityManagementProject.studentCredentials.get(SyntheticWorkbook.studentId(index));
+        return password != null && password.equals("password" + index);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.universitymanagementproject;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventService lookups and registrations on a loaded catalogue.
+ * registerAndUnregister includes the repository write (journal append for EXCEL, row insert/delete
+ * for H2), so it measures the durable mutation path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventServiceBenchmark {
+    @Param({"1000", "100000"})
+    public int events;
+
+    @Param({"EXCEL", "H2"})
+    public String store;
+
+    private Path directory;
+    private EventService eventService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.createDirectory();
+        Path workbook = SyntheticWorkbook.generate(directory.resolve("UMS_Data.xlsx"), events, 10_000, 1_000);
+        ExcelDataManager excelDataManager = new ExcelDataManager(workbook.toString(), ExcelDataManager.ReadMode.STREAMING);
+        if (store.equals("H2")) {
+            JdbcEventRepository repository = JdbcEventRepository.forWorkbook(workbook.toString());
+            repository.replaceAll(excelDataManager.readEvents());
+            eventService = new EventService(repository);
+        } else {
+            eventService = new EventService(excelDataManager);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        eventService.close();
+        BenchmarkFiles.delete(directory);
+    }
+
+    private String randomEventCode() {
+        return SyntheticWorkbook.eventCode(1 + ThreadLocalRandom.current().nextInt(events));
+    }
+
+    @Benchmark
+    public Optional<Event> getEventByCode() {
+        return eventService.getEventByCode(randomEventCode());
+    }
+
+    @Benchmark
+    public Optional<Event> getEventByCodeMissing() {
+        return eventService.getEventByCode("MISSING");
+    }
+
+    // Register then unregister, so seat counts stay constant across invocations
+    @Benchmark
+    public boolean registerAndUnregister() {
+        String eventCode = randomEventCode();
+        boolean registered = eventService.registerStudent(eventCode, "BENCHMARK");
+        return eventService.unregisterStudent(eventCode, "BENCHMARK") && registered;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.universitymanagementproject;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelDataManager.readEvents in each read mode.
+ * For SNAPSHOT the set-up read writes the binary snapshot, so the measured reads come from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExcelReadBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int events;
+
+    @Param({"DOM", "STREAMING", "SNAPSHOT"})
+    public ExcelDataManager.ReadMode mode;
+
+    private Path directory;
+    private ExcelDataManager excelDataManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.createDirectory();
+        Path workbook = SyntheticWorkbook.generate(directory.resolve("UMS_Data.xlsx"), events, 10_000, 1_000);
+        excelDataManager = new ExcelDataManager(workbook.toString(), mode);
+        excelDataManager.readEvents();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public List<Event> readEvents() throws IOException {
+        return excelDataManager.readEvents();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.universitymanagementproject;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelDataManager.writeEvents, rewriting the same catalogue on every invocation so the file size stays stable.
+ * Run with -prof gc to compare allocation of the DOM and streaming writers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExcelWriteBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int events;
+
+    @Param({"DOM", "STREAMING"})
+    public ExcelDataManager.WriteMode mode;
+
+    private Path directory;
+    private ExcelDataManager excelDataManager;
+    private List<Event> catalogue;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.createDirectory();
+        Path workbook = SyntheticWorkbook.generate(directory.resolve("UMS_Data.xlsx"), events, 10_000, 1_000);
+        excelDataManager = new ExcelDataManager(workbook.toString(), ExcelDataManager.ReadMode.STREAMING, mode);
+        catalogue = excelDataManager.readEvents();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public void writeEvents() throws IOException {
+        excelDataManager.writeEvents(catalogue);
+    }
+}
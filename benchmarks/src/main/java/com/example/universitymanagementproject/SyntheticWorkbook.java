@@ -0,0 +1,130 @@
+package com.example.universitymanagementproject;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Generates a UMS_Data.xlsx-shaped workbook with the same five sheets and column layout as the real one.
+ * Output is fully determined by the sizes and the seed, so benchmark runs are reproducible.
+ */
+public class SyntheticWorkbook {
+    private static final long DEFAULT_SEED = 1420;
+    private static final String[] LOCATIONS = {"Auditorium", "Main Hall", "Room 101", "Room 202", "Library", "Gym", "Lab A"};
+
+    public static Path generate(Path file, int events, int students, int faculties) throws IOException {
+        return generate(file, events, students, faculties, DEFAULT_SEED);
+    }
+
+    public static Path generate(Path file, int events, int students, int faculties, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd h:mm"));
+
+            Sheet subjects = workbook.createSheet("Subjects");
+            header(subjects, "Subject Code", "Subject Name");
+            for (int i = 1; i <= 100; i++) {
+                row(subjects, i, String.format("SUBJ%03d", i), "Subject " + i);
+            }
+
+            Sheet courses = workbook.createSheet("Courses");
+            header(courses, "Course Code", "Course Name", "Subject Code", "Section Number", "Capacity",
+                    "Lecture Time", "Final Exam Date/Time", "Location", "Teacher Name");
+            for (int i = 1; i <= 100; i++) {
+                row(courses, i, String.valueOf(i), "Course " + i, String.format("SUBJ%03d", i), "Section 1", "30",
+                        "Mon/Wed 9-11 AM", "2025-12-15 09:00", LOCATIONS[i % LOCATIONS.length], "Teacher " + i);
+            }
+
+            Sheet studentSheet = workbook.createSheet("Students ");
+            header(studentSheet, "Student ID", "Name", "Address", "Telephone", "Email", "Academic Level",
+                    "Current Semester", "Profile Photo", "Subjects Registered", "Thesis Title", "Progress", "Password");
+            for (int i = 1; i <= students; i++) {
+                row(studentSheet, i, studentId(i), "Student " + i, i + " Maple St.", "555-" + i, "s" + i + "@example.edu",
+                        "Undergraduate", "Fall 2025", "default", "SUBJ001", "_", "0.5", "password" + i);
+            }
+
+            Sheet facultySheet = workbook.createSheet("Faculties ");
+            header(facultySheet, "Faculty ID", "Name", "Degree", "Research Interest", "Email", "Office Location",
+                    "Courses Offered", "Password");
+            for (int i = 1; i <= faculties; i++) {
+                row(facultySheet, i, String.format("F%04d", i), "Faculty " + i, "Ph.D.", "Research " + i,
+                        "f" + i + "@university.edu", "Room " + i, "Course " + i, "password" + i);
+            }
+
+            Sheet eventSheet = workbook.createSheet("Events ");
+            header(eventSheet, "Event Code", "Event Name", "Description", "Location", "Date and Time", "Capacity",
+                    "Cost", "Header Image", "Registered Students");
+            LocalDateTime start = LocalDateTime.of(2025, 9, 1, 9, 0);
+            for (int i = 1; i <= events; i++) {
+                int capacity = 20 + random.nextInt(200);
+                StringBuilder registered = new StringBuilder();
+                int registrations = students == 0 ? 0 : random.nextInt(Math.min(capacity, students) / 2 + 1);
+                for (int r = 0; r < registrations; r++) {
+                    if (r > 0) {
+                        registered.append(", ");
+                    }
+                    registered.append(studentId(1 + random.nextInt(students)));
+                }
+
+                Row row = eventSheet.createRow(i);
+                row.createCell(0).setCellValue(eventCode(i));
+                row.createCell(1).setCellValue("Event " + i);
+                row.createCell(2).setCellValue("Synthetic event number " + i);
+                row.createCell(3).setCellValue(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+                Cell dateCell = row.createCell(4);
+                dateCell.setCellValue(start.plusHours(random.nextInt(24 * 365)));
+                dateCell.setCellStyle(dateStyle);
+                row.createCell(5).setCellValue(capacity);
+                row.createCell(6).setCellValue(random.nextInt(3) == 0 ? "Free" : "$" + (5 + random.nextInt(50)) + ".0");
+                row.createCell(7).setCellValue("default");
+                row.createCell(8).setCellValue(registered.toString());
+            }
+
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+            workbook.dispose();
+        }
+        return file;
+    }
+
+    public static String eventCode(int index) {
+        return String.format("EV%06d", index);
+    }
+
+    public static String studentId(int index) {
+        return String.format("S%08d", index);
+    }
+
+    private static void header(Sheet sheet, String... names) {
+        row(sheet, 0, names);
+    }
+
+    private static void row(Sheet sheet, int rowNum, String... values) {
+        Row row = sheet.createRow(rowNum);
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    // Usage: SyntheticWorkbook <output.xlsx> <events> [students] [faculties]
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : "UMS_Data_synthetic.xlsx");
+        int events = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int students = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int faculties = args.length > 3 ? Integer.parseInt(args[3]) : 1_000;
+        generate(file, events, students, faculties);
+        System.out.println("generated " + file + " with " + events + " events");
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.universitymanagementproject;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold WorkbookData.load of all five sheets, against parsing only the events sheet.
+ * With enough cores the two should be close, since the sheets are parsed concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WorkbookLoadBenchmark {
+    @Param({"10000", "100000"})
+    public int events;
+
+    private Path directory;
+    private String workbook;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.createDirectory();
+        workbook = SyntheticWorkbook.generate(directory.resolve("UMS_Data.xlsx"), events, events, 1_000).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Setup(Level.Invocation)
+    public void dropCache() {
+        WorkbookCache.invalidate(workbook);
+    }
+
+    @Benchmark
+    public WorkbookData loadAllSheets() throws IOException {
+        return WorkbookData.load(workbook);
+    }
+
+    @Benchmark
+    public int parseEventsSheetOnly() throws IOException {
+        return WorkbookCache.getSheet(workbook, ExcelDataManager.EVENT_SHEET_INDEX).size();
+    }
+}
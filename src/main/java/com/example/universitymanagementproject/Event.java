@@ -1,30 +1,55 @@
 package com.example.universitymanagementproject;
 
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.ZoneOffset;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 public class Event {
+    // Locations and header images repeat across many events, so each distinct value is kept once
+    private static final ValuePool LOCATIONS = new ValuePool(4096);
+    private static final ValuePool HEADER_IMAGE_PATHS = new ValuePool(4096);
+
+    // Date-time order without building LocalDateTimes, then by code
+    static final Comparator<Event> BY_DATE_TIME =
+            Comparator.comparingLong(Event::getEpochMinute).thenComparing(Event::getEventCode);
+
     private String eventName;
     private String eventCode;
     private String description;
     private String headerImagePath;
     private String location;
-    private LocalDateTime dateTime;
+    // Minutes since 1970-01-01T00:00 in local time, the precision every source of events uses
+    private long epochMinute;
     private int capacity;
     private double cost;
-    private List<String> registeredStudents;
+    // Registered students as StudentDictionary ints, listed in dictionary order rather than registration order.
+    // Guarded by this event's monitor, so the capacity check and the add are atomic.
+    private RoaringBitmap registeredStudents;
+
+    // Observable views of the fields for JavaFX bindings, created on first use so non-UI callers never pay for them.
+    // The fields never change on an instance (an edit replaces the event), so the properties never fire.
+    private Properties properties;
 
     public Event(String eventName, String eventCode, String description, String headerImagePath, String location, LocalDateTime dateTime, int capacity, double cost) {
         this.eventName = eventName;
         this.eventCode = eventCode;
         this.description = description;
-        this.headerImagePath = headerImagePath;
-        this.location = location;
-        this.dateTime = dateTime;
+        this.headerImagePath = HEADER_IMAGE_PATHS.canonical(headerImagePath);
+        this.location = LOCATIONS.canonical(location);
+        // Seconds are dropped; no source of events sets them
+        this.epochMinute = Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
         this.capacity = capacity;
         this.cost = cost;
-        this.registeredStudents = new ArrayList<>();
+        this.registeredStudents = new RoaringBitmap();
     }
 
     public String getEventName() {
@@ -48,7 +73,11 @@ public class Event {
     }
 
     public LocalDateTime getDateTime() {
-        return dateTime;
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    long getEpochMinute() {
+        return epochMinute;
     }
 
     public int getCapacity() {
@@ -59,62 +88,139 @@ public class Event {
         return cost;
     }
 
+    public ReadOnlyStringProperty eventNameProperty() {
+        return properties().eventName;
+    }
+
+    public ReadOnlyStringProperty locationProperty() {
+        return properties().location;
+    }
+
+    public ReadOnlyObjectProperty<LocalDateTime> dateTimeProperty() {
+        return properties().dateTime;
+    }
+
+    public ReadOnlyIntegerProperty capacityProperty() {
+        return properties().capacity;
+    }
+
+    private Properties properties() {
+        if (properties == null) {
+            properties = new Properties(this);
+        }
+        return properties;
+    }
+
+    // Snapshot of the student IDs; changes go through registerStudent/unregisterStudent
     public List<String> getRegisteredStudents() {
-        return registeredStudents;
+        return StudentDictionary.global().names(registrations());
     }
 
-    public boolean isRegistered(String username) {
-        return registeredStudents.contains(username);
+    public synchronized boolean isRegistered(String username) {
+        int id = StudentDictionary.global().lookup(username);
+        return id >= 0 && registeredStudents.contains(id);
     }
 
-    public boolean registerStudent(String username) {
-        if (registeredStudents.size() < capacity) {
-            registeredStudents.add(username);
-            return true;
+    public synchronized boolean registerStudent(String username) {
+        if (registeredStudents.cardinality() < capacity) {
+            return registeredStudents.add(StudentDictionary.global().intern(username));
         }
         return false;
     }
 
-    public void unregisterStudent(String username) {
-        registeredStudents.remove(username);
+    public synchronized void unregisterStudent(String username) {
+        int id = StudentDictionary.global().lookup(username);
+        if (id >= 0) {
+            registeredStudents.remove(id);
+        }
     }
 
-    public boolean isFull() {
-        return registeredStudents.size() >= capacity;
+    public synchronized boolean isFull() {
+        return registeredStudents.cardinality() >= capacity;
     }
 
-    public int getAvailableSeats() {
-        return capacity - registeredStudents.size();
+    public synchronized int getAvailableSeats() {
+        return capacity - registeredStudents.cardinality();
     }
 
-    public int getCurrentNumberOfRegisteredStudents() {
-        return registeredStudents.size();
+    public synchronized int getCurrentNumberOfRegisteredStudents() {
+        return registeredStudents.cardinality();
     }
 
     public void setRegisteredStudents(List<String> registeredStudents) {
-        if (registeredStudents == null) {
-            registeredStudents = new ArrayList<>();
+        // Interned before taking the monitor, so a long list does not hold up registrations
+        RoaringBitmap students = StudentDictionary.global().internAll(registeredStudents);
+        synchronized (this) {
+            if (students.cardinality() > capacity) {
+                throw new IllegalArgumentException("Number of registered students exceeds capacity");
+            }
+            this.registeredStudents = students;
         }
-        if (registeredStudents.size() > capacity) {
-            throw new IllegalArgumentException("Number of registered students exceeds capacity");
+    }
+
+    // Snapshot of the registrations as StudentDictionary ints, for set algebra between events
+    synchronized RoaringBitmap registrations() {
+        return registeredStudents.copy();
+    }
+
+    // Whether the other event has the same fields and registrations
+    boolean sameAs(Event other) {
+        RoaringBitmap others = other.registrations();
+        synchronized (this) {
+            return Objects.equals(eventName, other.eventName) && Objects.equals(eventCode, other.eventCode)
+                    && Objects.equals(description, other.description)
+                    && Objects.equals(headerImagePath, other.headerImagePath)
+                    && Objects.equals(location, other.location) && epochMinute == other.epochMinute
+                    && capacity == other.capacity && Double.compare(cost, other.cost) == 0
+                    && registeredStudents.equals(others);
         }
-        this.registeredStudents = registeredStudents;
     }
 
-    public String toString() {
+    // Number of students registered for both this event and the other one
+    public int countCommonRegistrations(Event other) {
+        // One monitor at a time, so two threads comparing the same pair in opposite order cannot deadlock
+        RoaringBitmap others = other.registrations();
+        synchronized (this) {
+            return registeredStudents.andCardinality(others);
+        }
+    }
+
+    // Detached copy including the current registrations
+    public synchronized Event copy() {
+        Event copy = new Event(eventName, eventCode, description, headerImagePath, location, getDateTime(), capacity, cost);
+        copy.registeredStudents = registeredStudents.copy();
+        return copy;
+    }
+
+    public synchronized String toString() {
         return "Event{" +
                 "eventName='" + eventName + '\'' +
                 ", eventCode='" + eventCode + '\'' +
                 ", description='" + description + '\'' +
                 ", headerImagePath='" + headerImagePath + '\'' +
                 ", location='" + location + '\'' +
-                ", dateTime=" + dateTime +
+                ", dateTime=" + getDateTime() +
                 ", capacity=" + capacity +
                 ", cost=" + cost +
-                ", registeredStudents=" + registeredStudents +
+                ", registeredStudents=" + StudentDictionary.global().names(registeredStudents) +
                 '}';
     }
 
+    // One object for all the properties, so an event that is never shown pays a single reference
+    private static final class Properties {
+        private final ReadOnlyStringProperty eventName;
+        private final ReadOnlyStringProperty location;
+        private final ReadOnlyObjectProperty<LocalDateTime> dateTime;
+        private final ReadOnlyIntegerProperty capacity;
+
+        Properties(Event event) {
+            eventName = new ReadOnlyStringWrapper(event, "eventName", event.eventName).getReadOnlyProperty();
+            location = new ReadOnlyStringWrapper(event, "location", event.location).getReadOnlyProperty();
+            dateTime = new ReadOnlyObjectWrapper<>(event, "dateTime", event.getDateTime()).getReadOnlyProperty();
+            capacity = new ReadOnlyIntegerWrapper(event, "capacity", event.capacity).getReadOnlyProperty();
+        }
+    }
+
     public static void main(String[] args) {
         Event halloweenParty = new Event("Halloween Party", "HALLOWEEN", "A spooky party for everyone!", "halloween.jpg", "Main Hall", LocalDateTime.of(2021, 10, 31, 20, 0), 100, 10.0);
 
@@ -1,14 +1,22 @@
 package com.example.universitymanagementproject;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.FileChooser;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -21,19 +29,61 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 public class EventController {
+    // Workbook and journal I/O runs here, never on the JavaFX application thread.
+    // Single-threaded so mutations are persisted in the order the user made them. Shared with the other dashboards.
+    static final ExecutorService IO_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final String DEFAULT_IMAGE_PATH = "images/default_header.png";
+    // Header images decoded at the size of hearImageView (see event-management-view.fxml); shared by all dashboards
+    private static final ImageCache HEADER_IMAGES = new ImageCache(32L * 1024 * 1024, 200, 120);
+    // Rows on each side of the selection whose images are decoded ahead of time
+    private static final int PREFETCH_ROWS = 2;
+    // Quiet time after the last keystroke before the search runs
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(250);
+
     private EventService eventService;
     private String currentRole;
     private String currentUsername;
 
+    // The table's rows, patched in place from the service's change notifications
+    private final EventTableModel tableModel = new EventTableModel(this::rowChanged);
+    // Code of the last selected event, so its row can be selected again after it is replaced
+    private String selectedEventCode;
+
+    // Search results, shown in place of all events while any search criterion is set
+    private final ObservableList<Event> searchResults = FXCollections.observableArrayList();
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    private SortedList<Event> sortedEvents;
+    private SortedList<Event> sortedResults;
+    // The query behind searchResults, or null if they must be fetched again (nothing searched yet, or the catalogue changed)
+    private EventQuery lastQuery;
+
     //FXML elements
     //Table
     @FXML private TableView<Event> eventTable;
     @FXML private TableColumn<Event, String> nameColumn;
-    @FXML private TableColumn<Event, String> dateColumn;
+    @FXML private TableColumn<Event, LocalDateTime> dateColumn;
     @FXML private TableColumn<Event, String> locationColumn;
-    @FXML private TableColumn<Event, String> capacityColumn;
+    @FXML private TableColumn<Event, Number> capacityColumn;
+
+    //Search
+    @FXML private TextField searchField;
+    @FXML private CheckBox seatsLeftCheckBox;
+    @FXML private CheckBox freeOnlyCheckBox;
+    @FXML private TextField locationFilterField;
+    @FXML private DatePicker fromDatePicker;
+    @FXML private DatePicker toDatePicker;
 
     //Form elements
     @FXML private ImageView hearImageView;
@@ -57,29 +107,43 @@ public class EventController {
 
 
     //默认图片，路径在根目录的default_header.png
-    private String currentImagePath = "images/default_header.png";
+    private String currentImagePath = DEFAULT_IMAGE_PATH;
 
     @FXML
     public void initialize() { // FXML加载后会自动调用
         System.out.println("Event Controller Initialized");
-        this.eventService = new EventService(new ExcelDataManager());
 
         currentRole = "ADMIN";
         currentUsername = "admin";
 
-        nameColumn.setCellValueFactory(new PropertyValueFactory<>("eventName"));
-        dateColumn.setCellValueFactory(new PropertyValueFactory<>("dateTime"));
-        locationColumn.setCellValueFactory(new PropertyValueFactory<>("location"));
-        capacityColumn.setCellValueFactory(new PropertyValueFactory<>("capacity"));
+        nameColumn.setCellValueFactory(cell -> cell.getValue().eventNameProperty());
+        dateColumn.setCellValueFactory(cell -> cell.getValue().dateTimeProperty());
+        locationColumn.setCellValueFactory(cell -> cell.getValue().locationProperty());
+        capacityColumn.setCellValueFactory(cell -> cell.getValue().capacityProperty());
+
+        // Sorting by a column reorders this view, never the model's list, so the model's row index stays valid
+        sortedEvents = new SortedList<>(tableModel.getItems());
+        sortedEvents.comparatorProperty().bind(eventTable.comparatorProperty());
+        sortedResults = new SortedList<>(searchResults);
+        sortedResults.comparatorProperty().bind(eventTable.comparatorProperty());
+        eventTable.setItems(sortedEvents);
+        configureSearch();
 
-        loadEvents();
+        // eventService stays null until the load below succeeds; until then there is nothing to act on
+        setActionsDisabled(true);
+        loadEventServiceAsync();
 
         eventTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
+                selectedEventCode = newSelection.getEventCode();
                 displayEventDetails(newSelection);
+                prefetchNeighbourImages(eventTable.getSelectionModel().getSelectedIndex());
             }
         });
 
+        stopFollowingWhenClosed(eventTable.getScene());
+        eventTable.sceneProperty().addListener((obs, oldScene, scene) -> stopFollowingWhenClosed(scene));
+
         toggleControls(true);
     }
 
@@ -126,17 +190,170 @@ public class EventController {
         costField.setDisable(disable);
     }
 
+    private void setActionsDisabled(boolean disabled) {
+        addButton.setDisable(disabled);
+        editButton.setDisable(disabled);
+        deleteButton.setDisable(disabled);
+        uploadImageButton.setDisable(disabled);
+        registerButton.setDisable(disabled);
+    }
+
     public void addEvent(Event event) {
-        eventService.addEvent(event);
+        if (!isLoaded()) return;
+        persistAsync(() -> eventService.addEvent(event));
     }
 
     public List<Event> getAllEvents() {
-        return eventService.getAllEvents();
+        return eventService != null ? eventService.getAllEvents() : new ArrayList<>();
     }
 
+    // Parses the workbook on the I/O thread; the table shows a progress indicator until it is ready
+    private void loadEventServiceAsync() {
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setMaxSize(40, 40);
+        eventTable.setPlaceholder(progress);
+        statusLabel.setText("Loading events...");
+
+        Task<EventService> loadTask = new Task<>() {
+            @Override
+            protected EventService call() {
+                return EventService.getShared();
+            }
+        };
+        loadTask.setOnSucceeded(e -> {
+            eventService = loadTask.getValue();
+            eventTable.setPlaceholder(new Label("No events"));
+            statusLabel.setText("");
+            loadEvents();
+            setActionsDisabled(false);
+        });
+        loadTask.setOnFailed(e -> {
+            eventTable.setPlaceholder(new Label("Could not load events"));
+            statusLabel.setText("");
+            showAlert(Alert.AlertType.ERROR, "Load Failed", "An error occurred while loading events.");
+        });
+        IO_EXECUTOR.execute(loadTask);
+    }
+
+    private boolean isLoaded() {
+        if (eventService == null) {
+            showAlert(Alert.AlertType.INFORMATION, "Please Wait", "Events are still loading.");
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * Runs a service mutation on the I/O thread; the result is delivered back on the FX thread.
+     * A mutation that throws is logged and shown in the status label, then reported to the
+     * caller as not saved, so its rollback runs.
+     */
+    private CompletableFuture<Boolean> persistAsync(Supplier<Boolean> mutation) {
+        statusLabel.setText("Saving...");
+        return CompletableFuture.supplyAsync(mutation, IO_EXECUTOR)
+                .handleAsync((saved, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        System.out.println("Error saving event: " + cause);
+                        statusLabel.setText("Save failed: " + cause.getMessage());
+                        return false;
+                    }
+                    statusLabel.setText(saved ? "Saved" : "");
+                    return saved;
+                }, Platform::runLater);
+    }
+
+    // Fills the table once; later changes arrive through the service's notifications
     private void loadEvents(){
-        ObservableList<Event> events = FXCollections.observableArrayList(eventService.getAllEvents());
-        eventTable.setItems(events);
+        eventService.removeListener(tableModel);
+        eventService.addListener(tableModel);
+        tableModel.load(eventService.getAllEvents());
+    }
+
+    // Every search input restarts the debounce timer; the search runs once typing pauses
+    private void configureSearch() {
+        searchDebounce.setOnFinished(e -> runSearch());
+        searchField.textProperty().addListener(o -> searchDebounce.playFromStart());
+        locationFilterField.textProperty().addListener(o -> searchDebounce.playFromStart());
+        seatsLeftCheckBox.selectedProperty().addListener(o -> searchDebounce.playFromStart());
+        freeOnlyCheckBox.selectedProperty().addListener(o -> searchDebounce.playFromStart());
+        fromDatePicker.valueProperty().addListener(o -> searchDebounce.playFromStart());
+        toDatePicker.valueProperty().addListener(o -> searchDebounce.playFromStart());
+
+        // Added, edited and deleted events can change the results, so fetch them again
+        tableModel.getItems().addListener((ListChangeListener<Event>) change -> {
+            if (eventTable.getItems() == sortedResults) {
+                lastQuery = null;
+                searchDebounce.playFromStart();
+            }
+        });
+    }
+
+    private EventQuery buildQuery() {
+        EventQuery query = EventQuery.all()
+                .text(searchField.getText())
+                .location(locationFilterField.getText());
+        LocalDate fromDate = fromDatePicker.getValue();
+        LocalDate toDate = toDatePicker.getValue();
+        // The To date is inclusive
+        query.between(fromDate == null ? null : fromDate.atStartOfDay(),
+                toDate == null ? null : toDate.plusDays(1).atStartOfDay());
+        if (seatsLeftCheckBox.isSelected()) {
+            query.withSeatsLeft();
+        }
+        if (freeOnlyCheckBox.isSelected()) {
+            query.maxCost(0);
+        }
+        return query;
+    }
+
+    /*
+     * Shows the events matching the search inputs. When the new query only extends the text of
+     * the previous one, the previous results are filtered instead of querying the service again.
+     */
+    private void runSearch() {
+        if (eventService == null) return;
+        EventQuery query = buildQuery();
+        if (query.isEmpty()) {
+            lastQuery = null;
+            searchResults.clear();
+            eventTable.setItems(sortedEvents);
+            return;
+        }
+
+        if (query.refines(lastQuery)) {
+            searchResults.removeIf(event -> !query.matches(event));
+        } else {
+            searchResults.setAll(eventService.findEvents(query));
+        }
+        lastQuery = query;
+        if (eventTable.getItems() != sortedResults) {
+            eventTable.setItems(sortedResults);
+        }
+    }
+
+    // A replaced row drops out of the selection, so select the new instance and show its confirmed state
+    private void rowChanged(Event event) {
+        if (event.getEventCode().equals(selectedEventCode)) {
+            eventTable.getSelectionModel().select(event);
+            displayEventDetails(event);
+        }
+    }
+
+    // Stops following the service once the dashboard window closes, so a closed dashboard is not kept alive
+    private void stopFollowingWhenClosed(Scene scene) {
+        if (scene == null) return;
+        stopFollowingWhenClosed(scene.getWindow());
+        scene.windowProperty().addListener((obs, oldWindow, window) -> stopFollowingWhenClosed(window));
+    }
+
+    private void stopFollowingWhenClosed(Window window) {
+        if (window == null) return;
+        window.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> {
+            if (eventService != null) {
+                eventService.removeListener(tableModel);
+            }
+        });
     }
 
     private boolean validateInputs(){
@@ -156,24 +373,37 @@ public class EventController {
 
     @FXML
     public void handleAddEvent() {
+        if (!isLoaded()) return;
         validateInputs();
 
+        Event event;
         try {
-            Event event = createEventFromForm();
-            if (eventService.addEvent(event)) {
-                loadEvents();
+            event = createEventFromForm();
+        } catch (Exception e) {
+            showAlert(Alert.AlertType.ERROR, "Failed To Add Event", "An error occurred while adding the event.");
+            return;
+        }
+        if (eventService.getEventByCode(event.getEventCode()).isPresent()) {
+            showAlert(Alert.AlertType.ERROR, "Failed To Add Event", "Event with code " + event.getEventCode() + " already exists.");
+            return;
+        }
+
+        // Show the row straight away; it is taken out again if the service rejects it
+        Runnable undo = tableModel.showAdded(event);
+        persistAsync(() -> eventService.addEvent(event)).thenAccept(added -> {
+            if (added) {
                 clearForm();
                 showAlert(Alert.AlertType.INFORMATION, "Event Added", "Event added successfully.");
             } else {
+                undo.run();
                 showAlert(Alert.AlertType.ERROR, "Failed To Add Event", "Event with code " + event.getEventCode() + " already exists.");
             }
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Failed To Add Event", "An error occurred while adding the event.");
-        }
+        });
     }
 
     @FXML
     public void handleEditEvent() {
+        if (!isLoaded()) return;
         Event selectedEvent = eventTable.getSelectionModel().getSelectedItem();
         if (selectedEvent == null) {
             showAlert(Alert.AlertType.ERROR, "Edit Event Failed", "Please select an event to edit.");
@@ -182,23 +412,32 @@ public class EventController {
 
         validateInputs();
 
+        Event event;
         try {
-            Event event = createEventFromForm();
-            if (eventService.updateEvent(event)) {
-                loadEvents();
+            event = createEventFromForm();
+            // The form does not hold registrations; the service carries the current ones over when it saves
+            event.setRegisteredStudents(selectedEvent.getRegisteredStudents());
+        } catch (Exception e) {
+            showAlert(Alert.AlertType.ERROR, "Failed To Update Event", "An error occurred while updating the event.");
+            return;
+        }
+
+        Runnable undo = tableModel.showReplaced(event);
+        persistAsync(() -> eventService.updateEventDetails(event)).thenAccept(updated -> {
+            if (updated) {
                 clearForm();
                 showAlert(Alert.AlertType.INFORMATION, "Event Updated", "Event updated successfully.");
             } else {
+                undo.run();
                 showAlert(Alert.AlertType.ERROR, "Failed To Update Event", "An error occurred while updating the event.");
             }
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Failed To Update Event", "An error occurred while updating the event.");
-        }
+        });
     }
 
     @FXML
     public void handleDeleteEvent() {
         System.out.println("Delete Event Button Clicked");
+        if (!isLoaded()) return;
         Event selectedEvent = eventTable.getSelectionModel().getSelectedItem();
 
         if (selectedEvent == null) {
@@ -213,14 +452,19 @@ public class EventController {
 
         Optional<ButtonType> result = confirmationAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (eventService.deleteEvent(selectedEvent.getEventCode())){
-                loadEvents();
-            }
+            Runnable undo = tableModel.showRemoved(selectedEvent.getEventCode());
+            persistAsync(() -> eventService.deleteEvent(selectedEvent.getEventCode())).thenAccept(deleted -> {
+                if (!deleted) {
+                    undo.run();
+                    showAlert(Alert.AlertType.ERROR, "Delete Event Failed", "An error occurred while deleting the event.");
+                }
+            });
         }
     }
 
     @FXML
     public void handleUploadImage() {
+        if (!isLoaded()) return;
         Event selectedEvent = eventTable.getSelectionModel().getSelectedItem();
         if (selectedEvent == null) {
             showAlert(Alert.AlertType.ERROR, "Upload Image Failed", "Please select an event to upload an image.");
@@ -247,10 +491,9 @@ public class EventController {
 
                 Files.copy(selectedFile.toPath(), destinationPath);
 
-                Image image = new Image(destinationPath.toUri().toString());
-                hearImageView.setImage(image);
-
                 currentImagePath = destinationPath.toString();
+                hearImageView.setImage(HEADER_IMAGES.get(currentImagePath));
+
                 System.out.println(">>>currentImagePath: " + currentImagePath);
 
                 String eventName = selectedEvent.getEventName();
@@ -262,7 +505,14 @@ public class EventController {
                 double cost = selectedEvent.getCost();
 
                 Event updatedEvent = new Event(eventName, eventCode, description, currentImagePath, location, dateTime, capacity, cost);
-                eventService.updateEvent(updatedEvent);
+                updatedEvent.setRegisteredStudents(selectedEvent.getRegisteredStudents());
+                Runnable undo = tableModel.showReplaced(updatedEvent);
+                persistAsync(() -> eventService.updateEventDetails(updatedEvent)).thenAccept(updated -> {
+                    if (!updated) {
+                        undo.run();
+                        showAlert(Alert.AlertType.ERROR, "Upload Image Failed", "The new image could not be saved.");
+                    }
+                });
 
             } catch (Exception e) {
                 showAlert(Alert.AlertType.ERROR, "Upload Image Failed", "An error occurred while uploading the image.");
@@ -272,6 +522,7 @@ public class EventController {
 
     @FXML
     public void handleRegisterEvent() {
+        if (!isLoaded()) return;
         Event selectedEvent = eventTable.getSelectionModel().getSelectedItem();
         if (selectedEvent == null) {
             showAlert(Alert.AlertType.ERROR, "Register Event Failed", "Please select an event to register.");
@@ -279,26 +530,40 @@ public class EventController {
         }
 
         boolean isRegistered = selectedEvent.isRegistered(currentUsername);
+        String eventCode = selectedEvent.getEventCode();
 
         if (isRegistered){
-            eventService.unregisterStudent(selectedEvent.getEventCode(), currentUsername);
-            showAlert(Alert.AlertType.INFORMATION, "Unregistered", "You have been unregistered from the event.");
+            registerButton.setText("Click to Register");
+            persistAsync(() -> eventService.unregisterStudent(eventCode, currentUsername)).thenAccept(unregistered -> {
+                refreshEvent(eventCode);
+                if (unregistered) {
+                    showAlert(Alert.AlertType.INFORMATION, "Unregistered", "You have been unregistered from the event.");
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Unregister Failed", "An error occurred while unregistering from the event.");
+                }
+            });
         } else {
             if (selectedEvent.isFull()) {
                 showAlert(Alert.AlertType.ERROR, "Registration Failed", "Event is full. Cannot register.");
                 return;
-            } else {
-                eventService.registerStudent(selectedEvent.getEventCode(), currentUsername);
-                showAlert(Alert.AlertType.INFORMATION, "Registered", "You have been registered for the event.");
             }
+            registerButton.setText("Registered");
+            persistAsync(() -> eventService.registerStudent(eventCode, currentUsername)).thenAccept(registered -> {
+                refreshEvent(eventCode);
+                if (registered) {
+                    showAlert(Alert.AlertType.INFORMATION, "Registered", "You have been registered for the event.");
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Registration Failed", "Event is full. Cannot register.");
+                }
+            });
         }
+    }
 
-        loadEvents();
-        for (Event event : eventTable.getItems()) {
-            if (event.getEventCode().equals(selectedEvent.getEventCode())) {
-                displayEventDetails(event);
-                break;
-            }
+    // Shows the confirmed state of one event; the table row itself was already refreshed by the service's notification
+    private void refreshEvent(String eventCode) {
+        Event event = tableModel.find(eventCode);
+        if (event != null) {
+            displayEventDetails(event);
         }
     }
 
@@ -336,34 +601,41 @@ public class EventController {
         //display register status
         statusLabel.setText("Available: " + event.getAvailableSeats() + " / " + event.getCapacity());
 
-        //load image
+        //load image, decoded in the background and cached; the view fills in when it is ready
         try {
-            String imagePath = event.getHeaderImagePath();
-            if (imagePath != null && !imagePath.isEmpty()) {
-                imagePath = "images/default_header.png";
-              }
-            System.out.println(">>>imagePath: " + imagePath);
-            if (imagePath == "default"){
-                imagePath = "images/default_header.png";
-            }
-            File imageFile = new File(imagePath);
-            if (imageFile.exists()) {
-                hearImageView.setImage(new Image(imageFile.toURI().toString()));
+            String imagePath = imagePathOf(event);
+            Image image = HEADER_IMAGES.get(imagePath);
+            if (image != null) {
+                hearImageView.setImage(image);
                 currentImagePath = imagePath;
             } else {
                 System.out.println("Image file not found: " + imagePath);
+                hearImageView.setImage(HEADER_IMAGES.get(DEFAULT_IMAGE_PATH));
             }
         } catch (Exception e) {
             System.out.println("Error loading image: " + e.getMessage());
-            try {
-                // load default image
-                String imagePath = "images/default_header.png";
-                File imageFile = new File(imagePath);
-                hearImageView.setImage(new Image(imageFile.toURI().toString()));
-            } catch (Exception ex) {
-                System.out.println("Error loading default image: " + ex.getMessage());
+        }
+    }
+
+    // Header image of an event, or the default image when it has none
+    private static String imagePathOf(Event event) {
+        String imagePath = event.getHeaderImagePath();
+        if (imagePath == null || imagePath.isEmpty() || imagePath.equals("default")) {
+            return DEFAULT_IMAGE_PATH;
+        }
+        return imagePath;
+    }
+
+    // Starts decoding the header images of the rows around the selection, so moving through the table is instant
+    private void prefetchNeighbourImages(int selectedIndex) {
+        List<Event> rows = eventTable.getItems();
+        List<String> paths = new ArrayList<>();
+        for (int i = selectedIndex - PREFETCH_ROWS; i <= selectedIndex + PREFETCH_ROWS; i++) {
+            if (i >= 0 && i < rows.size() && i != selectedIndex) {
+                paths.add(imagePathOf(rows.get(i)));
             }
         }
+        HEADER_IMAGES.prefetch(paths);
     }
 
     private Event createEventFromForm() {
@@ -0,0 +1,209 @@
+package com.example.universitymanagementproject;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scanners for the events sheet's text cells.
+ * They accept the same input as the regex and Double/LocalDateTime parsing they replace, but walk
+ * the characters once and report bad input through their return value instead of an exception.
+ */
+final class EventFieldParser {
+    // Returned by parseCapacity for text that is not a number
+    static final int INVALID_CAPACITY = Integer.MIN_VALUE;
+
+    // Powers of ten that are exact doubles
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+    // Up to this many digits the mantissa is exact, so one division gives the correctly rounded value
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private EventFieldParser() {
+    }
+
+    /**
+     * Parses a capacity such as "30", " 30 " or "30.0". A fraction is truncated and values beyond
+     * the int range are clamped, as (int) Double.parseDouble(text.strip()) does.
+     * @return the capacity, or INVALID_CAPACITY
+     */
+    static int parseCapacity(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+
+        boolean negative = false;
+        if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+            negative = text.charAt(start) == '-';
+            start++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        int i = start;
+        for (; i < end && isDigit(text.charAt(i)); i++) {
+            value = Math.min(value * 10 + (text.charAt(i) - '0'), (long) Integer.MAX_VALUE + 1);
+            digits++;
+        }
+        if (i < end && text.charAt(i) == '.') {
+            for (i++; i < end && isDigit(text.charAt(i)); i++) {
+                digits++;
+            }
+        }
+        if (digits == 0 || i != end) {
+            return slowParseCapacity(text);
+        }
+        value = negative ? -value : value;
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    // Exponents, type suffixes and the other forms Double.parseDouble also accepts
+    private static int slowParseCapacity(String text) {
+        try {
+            return Math.max(Integer.MIN_VALUE + 1, (int) Double.parseDouble(text.strip()));
+        } catch (NumberFormatException e) {
+            return INVALID_CAPACITY;
+        }
+    }
+
+    /**
+     * Parses a cost cell: "Free", "0.0" and "" are free; otherwise the digits and decimal point
+     * after the first '$' (or in the whole text if there is none) form the amount, so "$10.0",
+     * "10 USD" and "￥10.0" all parse.
+     * @return the cost, or NaN if there is no valid amount
+     */
+    static double parseCost(String text) {
+        if (text.isEmpty() || text.contains("Free") || text.equals("0.0")) {
+            return 0.0;
+        }
+
+        int start = 0;
+        int end = text.length();
+        int dollar = text.indexOf('$');
+        if (dollar >= 0) {
+            // Only the part up to the next '$' counts, like split("\\$")[1]
+            start = dollar + 1;
+            int nextDollar = text.indexOf('$', start);
+            if (nextDollar >= 0) {
+                end = nextDollar;
+            }
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenPoint = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                if (digits < MAX_FAST_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                digits++;
+                if (seenPoint) {
+                    fractionDigits++;
+                }
+            } else if (c == '.') {
+                if (seenPoint) {
+                    return Double.NaN;
+                }
+                seenPoint = true;
+            }
+            // Any other character (currency signs, spaces, separators) is ignored
+        }
+
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (digits > MAX_FAST_DIGITS) {
+            return slowParseCost(text, start, end);
+        }
+        return mantissa / POWERS_OF_TEN[fractionDigits];
+    }
+
+    // Amounts with more digits than the fast path handles exactly; they do not occur in practice
+    private static double slowParseCost(String text, int start, int end) {
+        StringBuilder number = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c) || c == '.') {
+                number.append(c);
+            }
+        }
+        return Double.parseDouble(number.toString());
+    }
+
+    /**
+     * Parses "yyyy-MM-dd HH:mm". A day past the end of the month is moved back to its last day and
+     * 24:00 is midnight of the next day, as the SMART resolver of the previous DateTimeFormatter did.
+     * @return the date-time, or null if the text does not have that shape or a field is out of range
+     */
+    static LocalDateTime parseDateTime(String text) {
+        if (text.length() != 16 || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || text.charAt(10) != ' ' || text.charAt(13) != ':') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        boolean endOfDay = hour == 24 && minute == 0;
+        // yyyy is the year of the era, which starts at 1
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || (hour > 23 && !endOfDay) || minute < 0 || minute > 59) {
+            return null;
+        }
+        int lastDay = Month.of(month).length(Year.isLeap(year));
+        if (endOfDay) {
+            return LocalDateTime.of(year, month, Math.min(day, lastDay), 0, 0).plusDays(1);
+        }
+        return LocalDateTime.of(year, month, Math.min(day, lastDay), hour, minute);
+    }
+
+    /**
+     * Splits a comma-separated list of student IDs, trimming each and dropping empty entries.
+     */
+    static List<String> parseStudentIds(String text) {
+        List<String> ids = new ArrayList<>();
+        int length = text.length();
+        int start = 0;
+        while (start <= length) {
+            int comma = text.indexOf(',', start);
+            int end = comma < 0 ? length : comma;
+            int from = start;
+            int to = end;
+            while (from < to && text.charAt(from) <= ' ') from++;
+            while (to > from && text.charAt(to - 1) <= ' ') to--;
+            if (from < to) {
+                ids.add(text.substring(from, to));
+            }
+            if (comma < 0) {
+                break;
+            }
+            start = comma + 1;
+        }
+        return ids;
+    }
+
+    // Value of a fixed-width run of ASCII digits, or -1 if any character is not a digit
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.universitymanagementproject;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Secondary indexes over the catalogue, from which EventService answers EventQuery searches
+ * without looking at every event: event codes by date-time, by location and by each word of
+ * the name and description. Cost and free seats change too often or are too coarse to index,
+ * so they are checked on the candidates the indexes return.
+ * Not thread-safe; EventService guards it with its catalogue lock.
+ */
+final class EventIndex {
+    private final NavigableMap<LocalDateTime, Set<String>> byDateTime = new TreeMap<>();
+    private final Map<String, Set<String>> byLocation = new HashMap<>();
+    // Sorted, so every word starting with a prefix is one sub-map
+    private final NavigableMap<String, Set<String>> byWord = new TreeMap<>();
+
+    void add(Event event) {
+        String code = event.getEventCode();
+        byDateTime.computeIfAbsent(event.getDateTime(), key -> new HashSet<>()).add(code);
+        byLocation.computeIfAbsent(EventQuery.normalize(event.getLocation()), key -> new HashSet<>()).add(code);
+        for (String word : wordsOf(event)) {
+            byWord.computeIfAbsent(word, key -> new HashSet<>()).add(code);
+        }
+    }
+
+    void remove(Event event) {
+        String code = event.getEventCode();
+        removeFrom(byDateTime, event.getDateTime(), code);
+        removeFrom(byLocation, EventQuery.normalize(event.getLocation()), code);
+        for (String word : wordsOf(event)) {
+            removeFrom(byWord, word, code);
+        }
+    }
+
+    void clear() {
+        byDateTime.clear();
+        byLocation.clear();
+        byWord.clear();
+    }
+
+    /**
+     * @param events the catalogue by code, which this index describes
+     * @return the events matching the query, in date-time order
+     */
+    List<Event> find(EventQuery query, Map<String, Event> events) {
+        Set<String> candidates = candidates(query);
+        List<Event> results = new ArrayList<>();
+        Iterable<String> codes = candidates != null ? candidates : events.keySet();
+        for (String code : codes) {
+            Event event = events.get(code);
+            if (event != null && query.matches(event)) {
+                results.add(event);
+            }
+        }
+        results.sort(Event.BY_DATE_TIME);
+        return results;
+    }
+
+    // Intersection of the codes each indexed criterion allows, or null if no indexed criterion is set
+    private Set<String> candidates(EventQuery query) {
+        Set<String> candidates = null;
+        if (query.getLocation() != null) {
+            candidates = intersect(candidates, byLocation.getOrDefault(query.getLocation(), Set.of()));
+        }
+        for (String word : query.getWords()) {
+            if (candidates != null && candidates.isEmpty()) {
+                return candidates;
+            }
+            Set<String> codes = new HashSet<>();
+            for (Set<String> postings : byWord.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                codes.addAll(postings);
+            }
+            candidates = intersect(candidates, codes);
+        }
+        // Once location or words have narrowed the candidates, matches() checks the dates more cheaply than a range scan
+        if (candidates == null && (query.getFrom() != null || query.getTo() != null)) {
+            // An empty range, e.g. From after To; the sub-map views reject it
+            if (query.getFrom() != null && query.getTo() != null && !query.getFrom().isBefore(query.getTo())) {
+                return new HashSet<>();
+            }
+            NavigableMap<LocalDateTime, Set<String>> range = byDateTime;
+            if (query.getFrom() != null) {
+                range = range.tailMap(query.getFrom(), true);
+            }
+            if (query.getTo() != null) {
+                range = range.headMap(query.getTo(), false);
+            }
+            candidates = new HashSet<>();
+            for (Set<String> postings : range.values()) {
+                candidates.addAll(postings);
+            }
+        }
+        return candidates;
+    }
+
+    private static Set<String> intersect(Set<String> candidates, Set<String> codes) {
+        if (candidates == null) {
+            return new HashSet<>(codes);
+        }
+        candidates.retainAll(codes);
+        return candidates;
+    }
+
+    private static Set<String> wordsOf(Event event) {
+        Set<String> words = new LinkedHashSet<>(EventQuery.tokenize(event.getEventName()));
+        words.addAll(EventQuery.tokenize(event.getDescription()));
+        return words;
+    }
+
+    private static <K> void removeFrom(Map<K, Set<String>> index, K key, String code) {
+        Set<String> codes = index.get(key);
+        if (codes != null && codes.remove(code) && codes.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.universitymanagementproject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only journal of event mutations, written ahead of the Excel workbook.
+ * Each record is one tab-separated line, appended with a single write and forced to disk
+ * before the mutation returns. On startup the journal is replayed on top of the last
+ * workbook snapshot; once the workbook has been rewritten the journal is discarded.
+ *
+ * Record formats:
+ *   PUT        code name description headerImagePath location dateTime capacity cost [student...]
+ *   DELETE     code
+ *   REGISTER   code studentId
+ *   UNREGISTER code studentId
+ * Tabs, line breaks and backslashes in a field are escaped with a backslash; a null field is
+ * written as \N, so it replays as null rather than as an empty string.
+ */
+public class EventJournal implements AutoCloseable {
+    private static final String DEFAULT_PATH = "UMS_Data.journal";
+    private static final String COMPACTING_SUFFIX = ".compacting";
+
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DELETE";
+    private static final String REGISTER = "REGISTER";
+    private static final String UNREGISTER = "UNREGISTER";
+
+    /**
+     * Receives journal records during replay. Implementations must be idempotent,
+     * because a record may already be contained in the workbook snapshot.
+     */
+    public interface Replayer {
+        void put(Event event);
+
+        void delete(String eventCode);
+
+        void register(String eventCode, String studentId);
+
+        void unregister(String eventCode, String studentId);
+    }
+
+    private final Path journalPath;
+    private final Path compactingPath;
+    // Guards the channel and the files. Not a monitor: appends wait for an fsync, which would
+    // pin the carrier thread of a virtual thread blocked inside a monitor.
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+    private volatile long size;
+
+    public EventJournal() throws IOException {
+        this(Paths.get(DEFAULT_PATH));
+    }
+
+    // Journal kept next to the given workbook, e.g. UMS_Data.xlsx -> UMS_Data.journal
+    public static EventJournal forWorkbook(String workbookPath) throws IOException {
+        String basePath = workbookPath.endsWith(".xlsx") ? workbookPath.substring(0, workbookPath.length() - 5) : workbookPath;
+        return new EventJournal(Paths.get(basePath + ".journal"));
+    }
+
+    public EventJournal(Path journalPath) throws IOException {
+        this.journalPath = journalPath;
+        this.compactingPath = Paths.get(journalPath + COMPACTING_SUFFIX);
+        openChannel();
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+
+    public void appendPut(Event event) throws IOException {
+        List<String> fields = new ArrayList<>();
+        fields.add(PUT);
+        fields.add(event.getEventCode());
+        fields.add(event.getEventName());
+        fields.add(event.getDescription());
+        fields.add(event.getHeaderImagePath());
+        fields.add(event.getLocation());
+        fields.add(event.getDateTime().toString());
+        fields.add(String.valueOf(event.getCapacity()));
+        fields.add(String.valueOf(event.getCost()));
+        fields.addAll(event.getRegisteredStudents());
+        append(fields);
+    }
+
+    public void appendDelete(String eventCode) throws IOException {
+        append(List.of(DELETE, eventCode));
+    }
+
+    public void appendRegister(String eventCode, String studentId) throws IOException {
+        append(List.of(REGISTER, eventCode, studentId));
+    }
+
+    public void appendUnregister(String eventCode, String studentId) throws IOException {
+        append(List.of(UNREGISTER, eventCode, studentId));
+    }
+
+    private void append(List<String> fields) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (String field : fields) {
+            if (line.length() > 0) {
+                line.append('\t');
+            }
+            escape(field, line);
+        }
+        line.append('\n');
+        ByteBuffer buffer = ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8));
+
+        lock.lock();
+        try {
+            long start = size;
+            try {
+                while (buffer.hasRemaining()) {
+                    size += channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                // Drop the partial record, so the next one does not continue its line
+                try {
+                    channel.truncate(start);
+                    size = start;
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Size in bytes of the live journal, used to decide when to compact
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Replays a journal left over from an interrupted compaction, then the live journal.
+     * A torn last record (no trailing newline) is ignored and cut off the file, so records
+     * appended afterwards start on a line of their own.
+     */
+    public void replay(Replayer replayer) throws IOException {
+        lock.lock();
+        try {
+            int count = replayFile(compactingPath, replayer) + replayFile(journalPath, replayer);
+            if (count > 0) {
+                System.out.println("replayed " + count + " journal records");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int replayFile(Path path, Replayer replayer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        // A newline byte never occurs inside a multi-byte UTF-8 character
+        int complete = bytes.length;
+        while (complete > 0 && bytes[complete - 1] != '\n') {
+            complete--;
+        }
+        if (complete < bytes.length) {
+            System.out.println("discarded torn journal record: " + new String(bytes, complete, bytes.length - complete, StandardCharsets.UTF_8));
+            truncate(path, complete);
+        }
+
+        String content = new String(bytes, 0, complete, StandardCharsets.UTF_8);
+        int count = 0;
+        int start = 0;
+        int end;
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            String line = content.substring(start, end);
+            start = end + 1;
+            if (line.isEmpty()) continue;
+            try {
+                apply(unescapeFields(line), replayer);
+                count++;
+            } catch (RuntimeException e) {
+                System.out.println("skipped invalid journal record: " + line);
+            }
+        }
+        return count;
+    }
+
+    private void truncate(Path path, long length) throws IOException {
+        if (path.equals(journalPath)) {
+            channel.truncate(length);
+            size = length;
+        } else {
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                file.truncate(length);
+            }
+        }
+    }
+
+    private void apply(List<String> fields, Replayer replayer) {
+        switch (fields.get(0)) {
+            case PUT:
+                Event event = new Event(fields.get(2), fields.get(1), fields.get(3), fields.get(4), fields.get(5),
+                        LocalDateTime.parse(fields.get(6)), Integer.parseInt(fields.get(7)), Double.parseDouble(fields.get(8)));
+                event.setRegisteredStudents(new ArrayList<>(fields.subList(9, fields.size())));
+                replayer.put(event);
+                break;
+            case DELETE:
+                replayer.delete(fields.get(1));
+                break;
+            case REGISTER:
+                replayer.register(fields.get(1), fields.get(2));
+                break;
+            case UNREGISTER:
+                replayer.unregister(fields.get(1), fields.get(2));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown journal record: " + fields.get(0));
+        }
+    }
+
+    /**
+     * Starts a new journal before a workbook snapshot is written. Records appended so far move
+     * to the compacting file, which is kept until {@link #compacted()} confirms the snapshot is on disk.
+     */
+    public void rotate() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+            try {
+                if (Files.exists(compactingPath)) {
+                    // A previous compaction failed; keep its records ahead of the new ones
+                    Files.write(compactingPath, Files.readAllBytes(journalPath), StandardOpenOption.APPEND);
+                    Files.delete(journalPath);
+                } else {
+                    Files.move(journalPath, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                openChannel();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called once the snapshot taken at the last rotate() has been written to the workbook
+    public void compacted() throws IOException {
+        lock.lock();
+        try {
+            Files.deleteIfExists(compactingPath);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        if (value == null) {
+            out.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': out.append("\\\\"); break;
+                case '\t': out.append("\\t"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                default: out.append(c);
+            }
+        }
+    }
+
+    private static List<String> unescapeFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        // Set by \N, which escape only writes as a whole field
+        boolean isNull = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                fields.add(isNull ? null : field.toString());
+                field.setLength(0);
+                isNull = false;
+            } else if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                switch (next) {
+                    case 't': field.append('\t'); break;
+                    case 'n': field.append('\n'); break;
+                    case 'r': field.append('\r'); break;
+                    case 'N': isNull = true; break;
+                    default: field.append(next);
+                }
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(isNull ? null : field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.universitymanagementproject;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Search criteria for EventService.findEvents. Every criterion that is set must match.
+ *
+ *   EventQuery.all().text("concert").location("Main Hall")
+ *           .between(monday, nextMonday).maxCost(0).withSeatsLeft()
+ *
+ * Text matches words of the event's name and description by prefix, ignoring case, so each
+ * keystroke of a word already finds results. Location matches the whole location, ignoring case.
+ */
+public final class EventQuery {
+    private String text = "";
+    private List<String> words = List.of();
+    private String location;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private double maxCost = Double.POSITIVE_INFINITY;
+    private boolean seatsLeft;
+
+    private EventQuery() {
+    }
+
+    public static EventQuery all() {
+        return new EventQuery();
+    }
+
+    public EventQuery text(String text) {
+        this.text = text == null ? "" : text.strip();
+        this.words = tokenize(this.text);
+        return this;
+    }
+
+    public EventQuery location(String location) {
+        this.location = location == null || location.isBlank() ? null : normalize(location);
+        return this;
+    }
+
+    // Events at or after from and before to; either bound may be null
+    public EventQuery between(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    public EventQuery maxCost(double maxCost) {
+        this.maxCost = maxCost;
+        return this;
+    }
+
+    public EventQuery withSeatsLeft() {
+        this.seatsLeft = true;
+        return this;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    List<String> getWords() {
+        return words;
+    }
+
+    String getLocation() {
+        return location;
+    }
+
+    LocalDateTime getFrom() {
+        return from;
+    }
+
+    LocalDateTime getTo() {
+        return to;
+    }
+
+    public boolean isEmpty() {
+        return words.isEmpty() && location == null && from == null && to == null
+                && maxCost == Double.POSITIVE_INFINITY && !seatsLeft;
+    }
+
+    /**
+     * Whether every result of this query is also a result of the previous one, i.e. only the text
+     * was extended. The previous results can then be filtered instead of querying again.
+     */
+    public boolean refines(EventQuery previous) {
+        return previous != null && text.startsWith(previous.text)
+                && Objects.equals(location, previous.location) && Objects.equals(from, previous.from)
+                && Objects.equals(to, previous.to) && maxCost == previous.maxCost && seatsLeft == previous.seatsLeft;
+    }
+
+    public boolean matches(Event event) {
+        if (location != null && !location.equals(normalize(event.getLocation()))) {
+            return false;
+        }
+        LocalDateTime dateTime = event.getDateTime();
+        if ((from != null && dateTime.isBefore(from)) || (to != null && !dateTime.isBefore(to))) {
+            return false;
+        }
+        if (event.getCost() > maxCost || (seatsLeft && event.isFull())) {
+            return false;
+        }
+        if (words.isEmpty()) {
+            return true;
+        }
+        List<String> eventWords = tokenize(event.getEventName());
+        eventWords.addAll(tokenize(event.getDescription()));
+        for (String word : words) {
+            if (eventWords.stream().noneMatch(eventWord -> eventWord.startsWith(word))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // Lower-case runs of letters and digits
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.universitymanagementproject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Invalid cell values found while reading the events sheet.
+ * Rows with invalid values are still loaded, with the documented fallback for the field;
+ * the report says which cells fell back so they can be fixed in the workbook.
+ */
+public class EventReadReport {
+    // Only the first issues are kept; a broken column in a large sheet should not hold every row
+    private static final int MAX_ISSUES = 1000;
+
+    /**
+     * One invalid cell. Row numbers are 1-based as shown in Excel, so the header is row 1.
+     */
+    public static final class Issue {
+        private final int row;
+        private final String column;
+        private final String value;
+        private final String problem;
+
+        Issue(int row, String column, String value, String problem) {
+            this.row = row;
+            this.column = column;
+            this.value = value;
+            this.problem = problem;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getProblem() {
+            return problem;
+        }
+
+        @Override
+        public String toString() {
+            return "row " + row + " " + column + " '" + value + "': " + problem;
+        }
+    }
+
+    private final List<Issue> issues = new ArrayList<>();
+    private int issueCount;
+
+    // An empty report, filled by a read of the events sheet
+    public EventReadReport() {
+    }
+
+    void add(int row, String column, String value, String problem) {
+        issueCount++;
+        if (issues.size() < MAX_ISSUES) {
+            issues.add(new Issue(row, column, value, problem));
+        }
+    }
+
+    public List<Issue> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    // Total number of invalid cells, including those beyond the kept issues
+    public int getIssueCount() {
+        return issueCount;
+    }
+
+    public boolean hasIssues() {
+        return issueCount > 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(issueCount + " invalid event values");
+        for (Issue issue : issues) {
+            text.append(System.lineSeparator()).append("  ").append(issue);
+        }
+        if (issueCount > issues.size()) {
+            text.append(System.lineSeparator()).append("  ... ").append(issueCount - issues.size()).append(" more");
+        }
+        return text.toString();
+    }
+}
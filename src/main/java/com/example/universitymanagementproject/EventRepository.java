@@ -0,0 +1,35 @@
+package com.example.universitymanagementproject;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable storage for the event catalogue, used by EventService.
+ * Every mutation must be durable (or at least journaled) when it returns; EventService applies it
+ * to its in-memory catalogue only afterwards, so a failed write leaves the catalogue unchanged.
+ * Implementations must be safe for concurrent callers.
+ */
+public interface EventRepository extends AutoCloseable {
+    // All events in table order
+    List<Event> findAll() throws IOException;
+
+    Optional<Event> findByCode(String eventCode) throws IOException;
+
+    void insert(Event event) throws IOException;
+
+    // Replaces the stored event with the same code, including its registrations
+    void update(Event event) throws IOException;
+
+    void delete(String eventCode) throws IOException;
+
+    void addRegistration(String eventCode, String studentId) throws IOException;
+
+    void removeRegistration(String eventCode, String studentId) throws IOException;
+
+    // Writes anything still buffered
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
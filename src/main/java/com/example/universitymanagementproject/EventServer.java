@@ -0,0 +1,332 @@
+package com.example.universitymanagementproject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless event registration server.
+ * Serves the shared EventService over HTTP on localhost, handling every request on its own virtual thread.
+ *
+ * GET    /events                                   list all events
+ * POST   /events                                   add an event (form fields, see readEventForm)
+ * GET    /events/{code}                            get one event
+ * PUT    /events/{code}                            update an event's details, keeping its registrations
+ * DELETE /events/{code}                            delete an event
+ * POST   /events/{code}/registrations?studentId=x  register a student
+ * DELETE /events/{code}/registrations/{studentId}  unregister a student
+ * GET    /metrics                                  counters and latency histograms (see Metrics)
+ */
+public class EventServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final EventService eventService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public EventServer(EventService eventService, int port) throws IOException {
+        this.eventService = eventService;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(executor);
+        this.server.createContext("/events", this::handle);
+        this.server.createContext("/metrics", this::handleMetrics);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("Event server listening on http://localhost:" + server.getAddress().getPort() + "/events");
+    }
+
+    // The bound port, which differs from the one requested when that was 0
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (IllegalArgumentException e) {
+            sendJson(exchange, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            System.out.println("Error handling " + exchange.getRequestURI() + ": " + e.getMessage());
+            sendJson(exchange, 500, error("Internal server error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (exchange.getRequestMethod().equals("GET")) {
+                sendJson(exchange, 200, Metrics.dumpJson());
+            } else {
+                sendJson(exchange, 405, error("Method not allowed"));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        // The context also receives paths such as /eventsX, and empty segments are not accepted either
+        String path = exchange.getRequestURI().getRawPath();
+        String[] segments = path.equals("/events") ? new String[0]
+                : path.startsWith("/events/") ? path.substring("/events/".length()).split("/", -1) : null;
+        if (segments == null || Arrays.asList(segments).contains("")) {
+            sendJson(exchange, 404, error("Not found"));
+            return;
+        }
+        String eventCode = segments.length > 0 ? decode(segments[0]) : null;
+
+        if (segments.length == 0) {
+            if (method.equals("GET")) {
+                sendJson(exchange, 200, toJson(eventService.getAllEvents()));
+            } else if (method.equals("POST")) {
+                Event event = readEventForm(readForm(exchange), null);
+                if (eventService.addEvent(event)) {
+                    sendJson(exchange, 201, toJson(event));
+                } else {
+                    sendJson(exchange, 409, error("Event with code " + event.getEventCode() + " already exists."));
+                }
+            } else {
+                sendJson(exchange, 405, error("Method not allowed"));
+            }
+        } else if (segments.length == 1) {
+            if (method.equals("GET")) {
+                Optional<Event> event = eventService.getEventByCode(eventCode);
+                if (event.isPresent()) {
+                    sendJson(exchange, 200, toJson(event.get()));
+                } else {
+                    sendJson(exchange, 404, error("Event not found"));
+                }
+            } else if (method.equals("PUT")) {
+                Event event = readEventForm(readForm(exchange), eventCode);
+                if (eventService.updateEventDetails(event)) {
+                    sendJson(exchange, 200, toJson(event));
+                } else {
+                    sendJson(exchange, 404, error("Event not found"));
+                }
+            } else if (method.equals("DELETE")) {
+                if (eventService.deleteEvent(eventCode)) {
+                    sendJson(exchange, 204, null);
+                } else {
+                    sendJson(exchange, 404, error("Event not found"));
+                }
+            } else {
+                sendJson(exchange, 405, error("Method not allowed"));
+            }
+        } else if (segments[1].equals("registrations") && segments.length <= 3) {
+            handleRegistration(exchange, method, eventCode, segments);
+        } else {
+            sendJson(exchange, 404, error("Not found"));
+        }
+    }
+
+    private void handleRegistration(HttpExchange exchange, String method, String eventCode, String[] segments) throws IOException {
+        Optional<Event> optionalEvent = eventService.getEventByCode(eventCode);
+        if (optionalEvent.isEmpty()) {
+            sendJson(exchange, 404, error("Event not found"));
+            return;
+        }
+
+        if (method.equals("POST") && segments.length == 2) {
+            String studentId = readForm(exchange).get("studentId");
+            if (studentId == null || studentId.isBlank()) {
+                throw new IllegalArgumentException("studentId is required");
+            }
+            switch (eventService.register(eventCode, studentId)) {
+                case SUCCESS -> sendJson(exchange, 201, toJson(optionalEvent.get()));
+                case DUPLICATE -> sendJson(exchange, 409, error("Student is already registered."));
+                case FULL -> sendJson(exchange, 409, error("Event is full. Cannot register."));
+                // Deleted since the lookup above
+                case NOT_FOUND -> sendJson(exchange, 404, error("Event not found"));
+                default -> sendJson(exchange, 500, error("Registration could not be saved."));
+            }
+        } else if (method.equals("DELETE") && segments.length == 3) {
+            switch (eventService.unregister(eventCode, decode(segments[2]))) {
+                case SUCCESS -> sendJson(exchange, 200, toJson(optionalEvent.get()));
+                case NOT_REGISTERED -> sendJson(exchange, 404, error("Student is not registered."));
+                case NOT_FOUND -> sendJson(exchange, 404, error("Event not found"));
+                default -> sendJson(exchange, 500, error("Unregistration could not be saved."));
+            }
+        } else {
+            sendJson(exchange, 405, error("Method not allowed"));
+        }
+    }
+
+    /**
+     * Builds an event from form fields: eventName, eventCode, description, location,
+     * dateTime (yyyy-MM-dd HH:mm), capacity, cost and optionally headerImagePath.
+     * For updates the code comes from the path.
+     */
+    private Event readEventForm(Map<String, String> form, String pathEventCode) {
+        String eventCode = pathEventCode != null ? pathEventCode : required(form, "eventCode");
+        LocalDateTime dateTime;
+        int capacity;
+        double cost;
+        try {
+            dateTime = LocalDateTime.parse(required(form, "dateTime"), DATE_TIME_FORMATTER);
+            capacity = Integer.parseInt(required(form, "capacity"));
+            cost = Double.parseDouble(form.getOrDefault("cost", "0"));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid event fields: " + e.getMessage());
+        }
+        return new Event(required(form, "eventName"), eventCode, form.getOrDefault("description", ""),
+                form.getOrDefault("headerImagePath", "default_header.png"), form.getOrDefault("location", ""),
+                dateTime, capacity, cost);
+    }
+
+    private static String required(Map<String, String> form, String name) {
+        String value = form.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    // Merges query parameters and an application/x-www-form-urlencoded body
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        Map<String, String> form = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), form);
+        try (InputStream body = exchange.getRequestBody()) {
+            parseForm(new String(body.readAllBytes(), StandardCharsets.UTF_8), form);
+        }
+        return form;
+    }
+
+    private static void parseForm(String encoded, Map<String, String> form) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+        }
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String toJson(List<Event> events) {
+        StringBuilder json = new StringBuilder("[");
+        for (Event event : events) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(toJson(event));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String toJson(Event event) {
+        // Registration fields are read under the event's monitor so the seat count matches the list
+        synchronized (event) {
+            StringBuilder json = new StringBuilder("{");
+            field(json, "eventCode", event.getEventCode()).append(',');
+            field(json, "eventName", event.getEventName()).append(',');
+            field(json, "description", event.getDescription()).append(',');
+            field(json, "location", event.getLocation()).append(',');
+            field(json, "dateTime", event.getDateTime().format(DATE_TIME_FORMATTER)).append(',');
+            field(json, "headerImagePath", event.getHeaderImagePath()).append(',');
+            json.append("\"capacity\":").append(event.getCapacity()).append(',');
+            json.append("\"cost\":").append(event.getCost()).append(',');
+            json.append("\"availableSeats\":").append(event.getAvailableSeats()).append(',');
+            json.append("\"registeredStudents\":[");
+            List<String> students = event.getRegisteredStudents();
+            for (int i = 0; i < students.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                quote(json, students.get(i));
+            }
+            return json.append("]}").toString();
+        }
+    }
+
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder("{");
+        return field(json, "error", message).append('}').toString();
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, String value) {
+        quote(json, name).append(':');
+        return quote(json, value);
+    }
+
+    private static StringBuilder quote(StringBuilder json, String value) {
+        if (value == null) {
+            return json.append("null");
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"');
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        EventService eventService = EventService.getShared();
+        EventServer server = new EventServer(eventService, port);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            eventService.close();
+        }));
+
+        server.start();
+    }
+}
@@ -1,115 +1,615 @@
 package com.example.universitymanagementproject;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class EventService {
-    private List<Event> events;
-    private ExcelDataManager excelDataManager;
+    // System property selecting the shared service's storage: "excel" (default) or "h2"
+    private static final String STORE_PROPERTY = "ums.eventStore";
 
+    // Result of a register or unregister call, counted in metrics and reported in JFR events
+    enum RegistrationOutcome {
+        SUCCESS("success"),
+        FULL("full"),
+        DUPLICATE("duplicate"),
+        NOT_REGISTERED("notRegistered"),
+        NOT_FOUND("notFound"),
+        FAILED("failed");
+
+        private final String label;
+
+        RegistrationOutcome(String label) {
+            this.label = label;
+        }
+    }
+
+    // Registration latency and outcomes; free when metrics are disabled
+    private static final LatencyHistogram REGISTER_TIMER = Metrics.timer("eventService.register");
+    private static final Map<RegistrationOutcome, Metrics.Counter> REGISTER_OUTCOMES = outcomeCounters("register",
+            RegistrationOutcome.SUCCESS, RegistrationOutcome.FULL, RegistrationOutcome.DUPLICATE,
+            RegistrationOutcome.NOT_FOUND, RegistrationOutcome.FAILED);
+    private static final LatencyHistogram UNREGISTER_TIMER = Metrics.timer("eventService.unregister");
+    private static final Map<RegistrationOutcome, Metrics.Counter> UNREGISTER_OUTCOMES = outcomeCounters("unregister",
+            RegistrationOutcome.SUCCESS, RegistrationOutcome.NOT_REGISTERED, RegistrationOutcome.NOT_FOUND,
+            RegistrationOutcome.FAILED);
+
+    private static EventService sharedInstance;
+
+    // Keyed by event code; insertion order is the table order. Guarded by catalogueLock.
+    private Map<String, Event> events;
+    // Lock-free lookup view of the same events, so registrations never take catalogueLock
+    private final Map<String, Event> eventsByCode = new ConcurrentHashMap<>();
+    private final ReentrantLock catalogueLock = new ReentrantLock();
+    // Per-event locks, striped by event code so an edited event shares its predecessor's lock
+    private final ReentrantLock[] eventLocks = new ReentrantLock[64];
+    // Secondary indexes for findEvents. Guarded by catalogueLock.
+    private final EventIndex index = new EventIndex();
+    // Student ID -> codes of the events they are registered for. Changed under the affected event's lock.
+    private final Map<String, Set<String>> eventCodesByStudent = new ConcurrentHashMap<>();
+
+    private final EventRepository repository;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Notified after each change is durable and applied.
+     * Calls are made on the mutating thread while the service still holds the event's lock, so
+     * changes to one event arrive in the order they happened. Implementations must be quick,
+     * e.g. hand the change to the JavaFX thread, and must not call back into the service.
+     */
+    public interface Listener {
+        void eventAdded(Event event);
+
+        // The event was replaced by an edited instance with the same code
+        void eventUpdated(Event oldEvent, Event newEvent);
+
+        void eventRemoved(Event event);
+
+        // The event's registered students changed in place
+        void registrationsChanged(Event event);
+    }
+
+    /*
+     * Locking: add/update/delete hold catalogueLock and then the affected event's lock;
+     * register/unregister hold only the event's lock, so registrations for different
+     * events rarely contend. The repository write happens inside those locks and before the
+     * in-memory change, so a change is only visible once it is durable. They are ReentrantLocks
+     * rather than monitors because that write may wait for an fsync, and a virtual thread
+     * (EventServer runs one per request) blocking inside a monitor pins its carrier thread.
+     */
     public EventService(ExcelDataManager excelDataManager) {
-        this.excelDataManager = excelDataManager;
-        this.events = loadEventsFromExcel();
+        this(openExcelRepository(excelDataManager));
+    }
+
+    public EventService(EventRepository repository) {
+        this.repository = repository;
+        for (int i = 0; i < eventLocks.length; i++) {
+            eventLocks[i] = new ReentrantLock();
+        }
+        this.events = loadEvents();
+    }
+
+    private static EventRepository openExcelRepository(ExcelDataManager excelDataManager) {
+        try {
+            return new ExcelEventRepository(excelDataManager);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error opening event journal: " + e.getMessage(), e);
+        }
+    }
+
+    // The journal and the database are single-writer, so every dashboard in the process shares one service
+    public static synchronized EventService getShared() {
+        if (sharedInstance == null) {
+            ExcelDataManager excelDataManager = new ExcelDataManager();
+            if (System.getProperty(STORE_PROPERTY, "excel").equals("h2")) {
+                sharedInstance = new EventService(openDatabaseRepository(excelDataManager));
+            } else {
+                sharedInstance = new EventService(excelDataManager);
+            }
+        }
+        return sharedInstance;
+    }
+
+    // The shared service if something already asked for it, without creating it
+    static synchronized EventService getSharedIfCreated() {
+        return sharedInstance;
+    }
+
+    // Opens the database next to the workbook, importing the workbook's events the first time
+    private static EventRepository openDatabaseRepository(ExcelDataManager excelDataManager) {
+        try {
+            JdbcEventRepository repository = JdbcEventRepository.forWorkbook(excelDataManager.getFilePath());
+            if (repository.isEmpty()) {
+                repository.replaceAll(excelDataManager.readEvents());
+            }
+            return repository;
+        } catch (IOException e) {
+            throw new IllegalStateException("Error opening event database: " + e.getMessage(), e);
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
     }
 
     public List<Event> getAllEvents() {
-        return events;
+        catalogueLock.lock();
+        try {
+            return new ArrayList<>(events.values());
+        } finally {
+            catalogueLock.unlock();
+        }
     }
 
-    private List<Event> loadEventsFromExcel() {
-        this.events = new ArrayList<>();
+    /**
+     * Events matching every criterion of the query, in date-time order.
+     * Location, words and date range are looked up in secondary indexes; cost and free seats are
+     * checked only on the events those return.
+     */
+    public List<Event> findEvents(EventQuery query) {
+        catalogueLock.lock();
         try {
-            this.events = excelDataManager.readEvents();
+            return index.find(query, events);
+        } finally {
+            catalogueLock.unlock();
+        }
+    }
+
+    /**
+     * Events the student is registered for, in date-time order, read from the reverse
+     * registration index instead of checking every event.
+     */
+    public List<Event> getEventsForStudent(String studentId) {
+        Set<String> eventCodes = eventCodesByStudent.getOrDefault(studentId, Set.of());
+        List<Event> studentEvents = new ArrayList<>(eventCodes.size());
+        for (String eventCode : eventCodes) {
+            Event event = eventsByCode.get(eventCode);
+            if (event != null) {
+                studentEvents.add(event);
+            }
+        }
+        studentEvents.sort(Event.BY_DATE_TIME);
+        return studentEvents;
+    }
+
+    /*
+     * Set algebra over registrations. Each event's registrations are snapshotted as a bitmap of
+     * StudentDictionary ints and combined without holding any lock; an unknown code counts as an
+     * event nobody is registered for. Student IDs come back in dictionary order.
+     */
+
+    // Students registered for every one of the events
+    public List<String> getCommonRegistrations(String... eventCodes) {
+        if (eventCodes.length == 0) {
+            return new ArrayList<>();
+        }
+        RoaringBitmap common = registrationsOf(eventCodes[0]);
+        for (int i = 1; i < eventCodes.length && !common.isEmpty(); i++) {
+            common = common.and(registrationsOf(eventCodes[i]));
+        }
+        return StudentDictionary.global().names(common);
+    }
+
+    // Number of students registered for both events, without building the list
+    public int countCommonRegistrations(String eventCodeA, String eventCodeB) {
+        return registrationsOf(eventCodeA).andCardinality(registrationsOf(eventCodeB));
+    }
+
+    // Students registered for at least one of the events
+    public List<String> getRegistrationsOfAny(String... eventCodes) {
+        return StudentDictionary.global().names(unionOf(eventCodes));
+    }
+
+    public int countRegistrationsOfAny(String... eventCodes) {
+        return unionOf(eventCodes).cardinality();
+    }
+
+    // Students registered for the first event but not the second
+    public List<String> getRegistrationsOnlyIn(String eventCode, String excludedEventCode) {
+        return StudentDictionary.global().names(registrationsOf(eventCode).andNot(registrationsOf(excludedEventCode)));
+    }
+
+    private ReentrantLock lockFor(String eventCode) {
+        return eventLocks[Math.floorMod(eventCode.hashCode(), eventLocks.length)];
+    }
+
+    private RoaringBitmap unionOf(String... eventCodes) {
+        RoaringBitmap union = new RoaringBitmap();
+        for (String eventCode : eventCodes) {
+            union = union.or(registrationsOf(eventCode));
+        }
+        return union;
+    }
+
+    private RoaringBitmap registrationsOf(String eventCode) {
+        Event event = eventsByCode.get(eventCode);
+        return event == null ? new RoaringBitmap() : event.registrations();
+    }
+
+    // compute/computeIfPresent are atomic per student, so registrations for different events of one student cannot lose an entry
+    private void addStudentEvent(String studentId, String eventCode) {
+        eventCodesByStudent.compute(studentId, (id, eventCodes) -> {
+            Set<String> codes = eventCodes != null ? eventCodes : ConcurrentHashMap.newKeySet();
+            codes.add(eventCode);
+            return codes;
+        });
+    }
+
+    private void removeStudentEvent(String studentId, String eventCode) {
+        eventCodesByStudent.computeIfPresent(studentId, (id, eventCodes) -> {
+            eventCodes.remove(eventCode);
+            return eventCodes.isEmpty() ? null : eventCodes;
+        });
+    }
+
+    private void indexRegistrations(Event event) {
+        for (String studentId : event.getRegisteredStudents()) {
+            addStudentEvent(studentId, event.getEventCode());
+        }
+    }
+
+    private void unindexRegistrations(Event event) {
+        for (String studentId : event.getRegisteredStudents()) {
+            removeStudentEvent(studentId, event.getEventCode());
+        }
+    }
+
+    private Map<String, Event> loadEvents() {
+        this.events = new LinkedHashMap<>();
+        index.clear();
+        eventCodesByStudent.clear();
+        try {
+            for (Event event : repository.findAll()) {
+                if (events.putIfAbsent(event.getEventCode(), event) != null) {
+                    System.out.println("Event with code " + event.getEventCode() + " already exists.");
+                } else {
+                    eventsByCode.put(event.getEventCode(), event);
+                    index.add(event);
+                    indexRegistrations(event);
+                }
+            }
         } catch (IOException e) {
-            System.out.println("Error reading events from Excel file.");
+            System.out.println("Error reading events: " + e.getMessage());
         }
         return this.events;
     }
 
-    private void saveEventsToExcel() {
+    // Writes a mutation to the repository before it is applied; returns false if it could not be made durable
+    private boolean persist(RepositoryWrite write) {
         try {
-            excelDataManager.writeEvents(events);
+            write.apply(repository);
+            return true;
         } catch (IOException e) {
-            System.out.println("Error writing events to Excel file.");
+            System.out.println("Error saving event: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private interface RepositoryWrite {
+        void apply(EventRepository repository) throws IOException;
+    }
+
+    // Writes pending changes immediately
+    public void flush() {
+        try {
+            repository.flush();
+        } catch (IOException e) {
+            System.out.println("Error writing events: " + e.getMessage());
+        }
+    }
+
+    // Writes pending changes and releases the repository
+    public void close() {
+        try {
+            repository.close();
+        } catch (IOException e) {
+            System.out.println("Error closing event repository: " + e.getMessage());
         }
     }
 
     public boolean addEvent(Event event) {
-        for (Event existingEvent : events) {
-            if (existingEvent.getEventCode().equals(event.getEventCode())) {
+        catalogueLock.lock();
+        try {
+            if (events.containsKey(event.getEventCode())) {
                 System.out.println("Event with code " + event.getEventCode() + " already exists.");
                 return false;
             }
+            if (!persist(r -> r.insert(event))) {
+                return false;
+            }
+            added(event);
+        } finally {
+            catalogueLock.unlock();
         }
-        events.add(event);
-        saveEventsToExcel();
         return true;
     }
 
     public Optional<Event> getEventByCode(String eventCode) {
-        for (Event event : events) {
-            if (event.getEventCode().equals(eventCode)) {
-                return Optional.of(event);
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable(eventsByCode.get(eventCode));
     }
 
+    // Replaces the event with the same code, registrations included
     public boolean updateEvent(Event updateEvent) {
-        Optional<Event> existingEvent =  getEventByCode(updateEvent.getEventCode());
-        if (existingEvent.isPresent()){
-            int index = events.indexOf(existingEvent.get());
-            events.set(index, updateEvent);
-            saveEventsToExcel();
-            return true;
+        return update(updateEvent, false);
+    }
+
+    /**
+     * Replaces the event with the same code but keeps the students registered for it, so an edit
+     * of its details cannot drop registrations made while the edit was in progress.
+     * @throws IllegalArgumentException if the new capacity is below the number of registered students
+     */
+    public boolean updateEventDetails(Event details) {
+        return update(details, true);
+    }
+
+    private boolean update(Event updateEvent, boolean keepRegistrations) {
+        catalogueLock.lock();
+        try {
+            Event existingEvent = events.get(updateEvent.getEventCode());
+            if (existingEvent == null) {
+                return false;
+            }
+            // Holding the old event's lock makes in-flight registrations on it finish first
+            ReentrantLock eventLock = lockFor(existingEvent.getEventCode());
+            eventLock.lock();
+            try {
+                if (keepRegistrations) {
+                    updateEvent.setRegisteredStudents(existingEvent.getRegisteredStudents());
+                }
+                if (!persist(r -> r.update(updateEvent))) {
+                    return false;
+                }
+                replaced(existingEvent, updateEvent);
+            } finally {
+                eventLock.unlock();
+            }
+        } finally {
+            catalogueLock.unlock();
         }
-        return false;
+        return true;
     }
 
     public boolean deleteEvent(String eventCode) {
-        Optional<Event> existingEvent =  getEventByCode(eventCode);
-        if (existingEvent.isPresent()){
-            events.remove(existingEvent.get());
-            saveEventsToExcel();
-            return true;
+        catalogueLock.lock();
+        try {
+            Event existingEvent = events.get(eventCode);
+            if (existingEvent == null) {
+                return false;
+            }
+            ReentrantLock eventLock = lockFor(eventCode);
+            eventLock.lock();
+            try {
+                if (!persist(r -> r.delete(eventCode))) {
+                    return false;
+                }
+                removed(existingEvent);
+            } finally {
+                eventLock.unlock();
+            }
+        } finally {
+            catalogueLock.unlock();
         }
-        return false;
+        return true;
     }
 
-    public boolean registerStudent(String eventCode, String studentId) {
-        Optional<Event> optionalEvent = getEventByCode(eventCode);
-        if (optionalEvent.isPresent()) {
-            Event event = optionalEvent.get();
-            if (event.isRegistered(studentId)) {
-                return false;
+    // Whether the events are stored in this workbook, so edits made to it outside the application apply here
+    boolean isBackedBy(String filePath) {
+        return repository instanceof ExcelEventRepository && Paths.get(filePath).toAbsolutePath().normalize().equals(
+                Paths.get(((ExcelEventRepository) repository).getExcelDataManager().getFilePath()).toAbsolutePath().normalize());
+    }
+
+    /**
+     * Brings the catalogue in line with events read from the workbook after it was edited outside
+     * the application, e.g. in Excel. Changes are found by a diff keyed on event code: new codes
+     * are added, missing codes removed and events whose fields or registrations differ replaced.
+     * Each change is announced to listeners like an edit, so open tables update in place.
+     * Nothing is written back. An event the application changed and has not yet written keeps
+     * the application's version.
+     * @return the number of events added, replaced or removed
+     */
+    int applyWorkbookChanges(List<Event> workbookEvents) {
+        catalogueLock.lock();
+        try {
+            List<Event> latest = ((ExcelEventRepository) repository).mergeExternal(workbookEvents);
+            Map<String, Event> latestByCode = new LinkedHashMap<>();
+            for (Event event : latest) {
+                latestByCode.putIfAbsent(event.getEventCode(), event);
             }
 
-            if (event.isFull() && !event.isRegistered(studentId)) {
-                return false;
+            int changes = 0;
+            for (Event existingEvent : new ArrayList<>(events.values())) {
+                if (!latestByCode.containsKey(existingEvent.getEventCode())) {
+                    ReentrantLock eventLock = lockFor(existingEvent.getEventCode());
+                    eventLock.lock();
+                    try {
+                        removed(existingEvent);
+                    } finally {
+                        eventLock.unlock();
+                    }
+                    changes++;
+                }
+            }
+            for (Event event : latestByCode.values()) {
+                Event existingEvent = events.get(event.getEventCode());
+                if (existingEvent == null) {
+                    added(event);
+                    changes++;
+                } else if (!existingEvent.sameAs(event)) {
+                    ReentrantLock eventLock = lockFor(existingEvent.getEventCode());
+                    eventLock.lock();
+                    try {
+                        replaced(existingEvent, event);
+                    } finally {
+                        eventLock.unlock();
+                    }
+                    changes++;
+                }
             }
+            return changes;
+        } finally {
+            catalogueLock.unlock();
+        }
+    }
+
+    // Apply a change that is already durable and announce it; callers hold catalogueLock and the lock of a replaced or removed event
+    private void added(Event event) {
+        events.put(event.getEventCode(), event);
+        eventsByCode.put(event.getEventCode(), event);
+        index.add(event);
+        indexRegistrations(event);
+        for (Listener listener : listeners) {
+            listener.eventAdded(event);
+        }
+    }
+
+    private void replaced(Event existingEvent, Event newEvent) {
+        // Replacing an existing key keeps its position in the table
+        events.put(newEvent.getEventCode(), newEvent);
+        eventsByCode.put(newEvent.getEventCode(), newEvent);
+        index.remove(existingEvent);
+        index.add(newEvent);
+        unindexRegistrations(existingEvent);
+        indexRegistrations(newEvent);
+        for (Listener listener : listeners) {
+            listener.eventUpdated(existingEvent, newEvent);
+        }
+    }
+
+    private void removed(Event existingEvent) {
+        events.remove(existingEvent.getEventCode());
+        eventsByCode.remove(existingEvent.getEventCode());
+        index.remove(existingEvent);
+        unindexRegistrations(existingEvent);
+        for (Listener listener : listeners) {
+            listener.eventRemoved(existingEvent);
+        }
+    }
+
+    public boolean registerStudent(String eventCode, String studentId) {
+        return register(eventCode, studentId) == RegistrationOutcome.SUCCESS;
+    }
+
+    // Like registerStudent, but tells why a registration was refused
+    RegistrationOutcome register(String eventCode, String studentId) {
+        JfrEvents.Registration flightEvent = new JfrEvents.Registration();
+        flightEvent.begin();
+        long start = Metrics.startTimer();
+        RegistrationOutcome outcome = tryRegister(eventCode, studentId);
+        REGISTER_TIMER.recordSince(start);
+        REGISTER_OUTCOMES.get(outcome).increment();
+        commit(flightEvent, "register", eventCode, outcome);
+        return outcome;
+    }
 
-            if (event.registerStudent(studentId)) {
-                saveEventsToExcel();
-                return true;
+    private RegistrationOutcome tryRegister(String eventCode, String studentId) {
+        Event event = eventsByCode.get(eventCode);
+        if (event == null) {
+            return RegistrationOutcome.NOT_FOUND;
+        }
+        ReentrantLock eventLock = lockFor(eventCode);
+        eventLock.lock();
+        try {
+            // The event may have been replaced or deleted while we waited for its lock
+            if (eventsByCode.get(eventCode) != event) {
+                return RegistrationOutcome.NOT_FOUND;
+            }
+            if (event.isRegistered(studentId)) {
+                return RegistrationOutcome.DUPLICATE;
             }
+            if (event.isFull()) {
+                return RegistrationOutcome.FULL;
+            }
+            if (!persist(r -> r.addRegistration(eventCode, studentId))) {
+                return RegistrationOutcome.FAILED;
+            }
+            event.registerStudent(studentId);
+            addStudentEvent(studentId, eventCode);
+            for (Listener listener : listeners) {
+                listener.registrationsChanged(event);
+            }
+        } finally {
+            eventLock.unlock();
         }
-        return false;
+        return RegistrationOutcome.SUCCESS;
     }
 
     public boolean unregisterStudent(String eventCode, String studentId) {
-        Optional<Event> optionalEvent = getEventByCode(eventCode);
-        if (optionalEvent.isPresent()) {
-            Event event = optionalEvent.get();
+        return unregister(eventCode, studentId) == RegistrationOutcome.SUCCESS;
+    }
+
+    // Like unregisterStudent, but tells why an unregistration was refused
+    RegistrationOutcome unregister(String eventCode, String studentId) {
+        JfrEvents.Registration flightEvent = new JfrEvents.Registration();
+        flightEvent.begin();
+        long start = Metrics.startTimer();
+        RegistrationOutcome outcome = tryUnregister(eventCode, studentId);
+        UNREGISTER_TIMER.recordSince(start);
+        UNREGISTER_OUTCOMES.get(outcome).increment();
+        commit(flightEvent, "unregister", eventCode, outcome);
+        return outcome;
+    }
+
+    private RegistrationOutcome tryUnregister(String eventCode, String studentId) {
+        Event event = eventsByCode.get(eventCode);
+        if (event == null) {
+            return RegistrationOutcome.NOT_FOUND;
+        }
+        ReentrantLock eventLock = lockFor(eventCode);
+        eventLock.lock();
+        try {
+            if (eventsByCode.get(eventCode) != event) {
+                return RegistrationOutcome.NOT_FOUND;
+            }
             if (!event.isRegistered(studentId)) {
-                return false;
+                return RegistrationOutcome.NOT_REGISTERED;
+            }
+            if (!persist(r -> r.removeRegistration(eventCode, studentId))) {
+                return RegistrationOutcome.FAILED;
             }
             event.unregisterStudent(studentId);
-            saveEventsToExcel();
-            return true;
+            removeStudentEvent(studentId, eventCode);
+            for (Listener listener : listeners) {
+                listener.registrationsChanged(event);
+            }
+        } finally {
+            eventLock.unlock();
+        }
+        return RegistrationOutcome.SUCCESS;
+    }
+
+    private static Map<RegistrationOutcome, Metrics.Counter> outcomeCounters(String operation, RegistrationOutcome... outcomes) {
+        Map<RegistrationOutcome, Metrics.Counter> counters = new EnumMap<>(RegistrationOutcome.class);
+        for (RegistrationOutcome outcome : outcomes) {
+            counters.put(outcome, Metrics.counter("eventService." + operation + "." + outcome.label));
+        }
+        return counters;
+    }
+
+    // Fills in and commits the JFR event if a recording wants it; the seat count is read after the call
+    private void commit(JfrEvents.Registration flightEvent, String operation, String eventCode, RegistrationOutcome outcome) {
+        if (!flightEvent.shouldCommit()) {
+            return;
         }
-        return false;
+        Event event = eventsByCode.get(eventCode);
+        flightEvent.operation = operation;
+        flightEvent.eventCode = eventCode;
+        flightEvent.outcome = outcome.label;
+        flightEvent.seatsLeft = event == null ? -1 : event.getAvailableSeats();
+        flightEvent.commit();
     }
 
 
@@ -120,5 +620,6 @@ public class EventService {
         for (Event event : events) {
             System.out.println(event);
         }
+        eventService.close();
     }
 }
@@ -0,0 +1,289 @@
+package com.example.universitymanagementproject;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+import org.apache.poi.xssf.usermodel.extensions.XSSFCellBorder;
+import org.apache.poi.xssf.usermodel.extensions.XSSFCellFill;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTFont;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STPatternType;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams the events sheet straight into the workbook package.
+ * Every zip entry except the events sheet part (and styles.xml, only when the header/data/date
+ * styles have to be added) is copied through unchanged, so the other sheets keep their exact bytes.
+ * Rows are written as inline-string XML while iterating the event list, so memory does not grow with the sheet.
+ * The result goes to a temporary file that replaces the workbook only once it is complete.
+ */
+final class EventSheetWriter {
+    private static final String SPREADSHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIP_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private EventSheetWriter() {
+    }
+
+    // Part names and style indexes resolved from the existing package
+    private static class Layout {
+        String sheetEntry;
+        String stylesEntry;
+        byte[] updatedStyles;
+        int headerStyle;
+        int dataStyle;
+        int dateTimeStyle;
+    }
+
+    /**
+     * @return false if the workbook does not exist or has no sheet at sheetIndex; nothing is written then
+     */
+    static boolean write(String filePath, int sheetIndex, List<Event> events) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        Layout layout = resolveLayout(path, sheetIndex);
+        if (layout == null) {
+            return false;
+        }
+
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "events", ".xlsx.tmp");
+        try {
+            try (ZipFile source = new ZipFile(path.toFile());
+                 ZipOutputStream target = new ZipOutputStream(Files.newOutputStream(temp))) {
+                Enumeration<? extends ZipEntry> entries = source.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    target.putNextEntry(new ZipEntry(entry.getName()));
+                    if (entry.getName().equals(layout.sheetEntry)) {
+                        writeSheet(target, layout, events);
+                    } else if (entry.getName().equals(layout.stylesEntry) && layout.updatedStyles != null) {
+                        target.write(layout.updatedStyles);
+                    } else {
+                        try (InputStream in = source.getInputStream(entry)) {
+                            in.transferTo(target);
+                        }
+                    }
+                    target.closeEntry();
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    private static Layout resolveLayout(Path path, int sheetIndex) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(path.toString(), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("cannot open " + path, e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            Layout layout = new Layout();
+            for (int index = 0; sheets.hasNext(); index++) {
+                // Only the part name is needed; the iterator opens each sheet's stream regardless
+                sheets.next().close();
+                if (index == sheetIndex) {
+                    layout.sheetEntry = entryName(sheets.getSheetPart().getPartName().getName());
+                    break;
+                }
+            }
+            if (layout.sheetEntry == null) {
+                return null;
+            }
+
+            StylesTable styles = reader.getStylesTable();
+            if (styles == null) {
+                return null;
+            }
+            layout.stylesEntry = entryName(styles.getPackagePart().getPartName().getName());
+            resolveStyles(styles, layout);
+            return layout;
+        } catch (OpenXML4JException e) {
+            throw new IOException("cannot read " + path, e);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private static String entryName(String partName) {
+        return partName.startsWith("/") ? partName.substring(1) : partName;
+    }
+
+    /**
+     * Finds the header, data and date-time styles written by the DOM writer, adding them to the
+     * styles part if they are missing. Lookups reuse existing entries, so repeated writes do not grow styles.xml.
+     */
+    private static void resolveStyles(StylesTable styles, Layout layout) throws IOException {
+        int xfCount = styles.getNumCellStyles();
+        int fontCount = styles.getFonts().size();
+        int fillCount = styles.getFills().size();
+        int borderCount = styles.getBorders().size();
+        int formatCount = styles.getNumDataFormats();
+
+        XSSFCellBorder thinBorder = new XSSFCellBorder();
+        for (XSSFCellBorder.BorderSide side : XSSFCellBorder.BorderSide.values()) {
+            if (side != XSSFCellBorder.BorderSide.DIAGONAL) {
+                thinBorder.setBorderStyle(side, BorderStyle.THIN);
+            }
+        }
+        int borderId = styles.putBorder(thinBorder);
+
+        XSSFCellFill headerFill = new XSSFCellFill();
+        headerFill.setPatternType(STPatternType.SOLID);
+        headerFill.setFillForegroundColor(IndexedColors.LIGHT_BLUE.getIndex());
+        int headerFillId = styles.putFill(headerFill);
+
+        // putFont compares raw XML, which differs once setBold reorders the elements, so look the font up by value
+        XSSFFont baseFont = styles.getFontAt(0);
+        XSSFFont boldFont = styles.findFont(true, baseFont.getColor(), baseFont.getFontHeight(), baseFont.getFontName(),
+                baseFont.getItalic(), baseFont.getStrikeout(), baseFont.getTypeOffset(), baseFont.getUnderline());
+        int boldFontId;
+        if (boldFont != null) {
+            boldFontId = boldFont.getIndex();
+        } else {
+            boldFont = new XSSFFont((CTFont) baseFont.getCTFont().copy());
+            boldFont.setBold(true);
+            boldFontId = styles.putFont(boldFont, true);
+        }
+
+        int dateFormatId = styles.putNumberFormat("yyyy-mm-dd h:mm");
+
+        layout.headerStyle = findOrCreateXf(styles, 0, boldFontId, headerFillId, borderId);
+        layout.dataStyle = findOrCreateXf(styles, 0, 0, 0, borderId);
+        layout.dateTimeStyle = findOrCreateXf(styles, dateFormatId, 0, 0, borderId);
+
+        boolean changed = styles.getNumCellStyles() != xfCount || styles.getFonts().size() != fontCount
+                || styles.getFills().size() != fillCount || styles.getBorders().size() != borderCount
+                || styles.getNumDataFormats() != formatCount;
+        if (changed) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            styles.writeTo(out);
+            layout.updatedStyles = out.toByteArray();
+        }
+    }
+
+    private static int findOrCreateXf(StylesTable styles, long numFmtId, long fontId, long fillId, long borderId) {
+        for (int i = 0; i < styles.getNumCellStyles(); i++) {
+            CTXf xf = styles.getCellXfAt(i);
+            if (xf.getNumFmtId() == numFmtId && xf.getFontId() == fontId
+                    && xf.getFillId() == fillId && xf.getBorderId() == borderId) {
+                return i;
+            }
+        }
+        CTXf xf = CTXf.Factory.newInstance();
+        xf.setNumFmtId(numFmtId);
+        xf.setFontId(fontId);
+        xf.setFillId(fillId);
+        xf.setBorderId(borderId);
+        xf.setXfId(0);
+        xf.setApplyNumberFormat(numFmtId != 0);
+        xf.setApplyFont(fontId != 0);
+        xf.setApplyFill(fillId != 0);
+        xf.setApplyBorder(true);
+        return styles.putCellXf(xf) - 1;
+    }
+
+    private static void writeSheet(OutputStream target, Layout layout, List<Event> events) throws IOException {
+        // Not closed: closing would close the zip stream
+        Writer out = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        String lastColumn = CellReference.convertNumToColString(ExcelDataManager.EVENT_HEADERS.length - 1);
+
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<worksheet xmlns=\"" + SPREADSHEET_NS + "\" xmlns:r=\"" + RELATIONSHIP_NS + "\">");
+        out.write("<dimension ref=\"A1:" + lastColumn + (events.size() + 1) + "\"/>");
+        out.write("<cols>");
+        for (int i = 0; i < ExcelDataManager.EVENT_COLUMN_WIDTHS.length; i++) {
+            out.write("<col min=\"" + (i + 1) + "\" max=\"" + (i + 1) + "\" width=\""
+                    + ExcelDataManager.EVENT_COLUMN_WIDTHS[i] + "\" customWidth=\"1\"/>");
+        }
+        out.write("</cols><sheetData>");
+
+        out.write("<row r=\"1\">");
+        for (int col = 0; col < ExcelDataManager.EVENT_HEADERS.length; col++) {
+            stringCell(out, col, 1, layout.headerStyle, ExcelDataManager.EVENT_HEADERS[col]);
+        }
+        out.write("</row>");
+
+        int rowNum = 2;
+        for (Event event : events) {
+            out.write("<row r=\"" + rowNum + "\">");
+            stringCell(out, 0, rowNum, layout.dataStyle, event.getEventCode());
+            stringCell(out, 1, rowNum, layout.dataStyle, event.getEventName());
+            stringCell(out, 2, rowNum, layout.dataStyle, event.getDescription());
+            stringCell(out, 3, rowNum, layout.dataStyle, event.getLocation());
+            numberCell(out, 4, rowNum, layout.dateTimeStyle, DateUtil.getExcelDate(event.getDateTime()));
+            numberCell(out, 5, rowNum, layout.dataStyle, event.getCapacity());
+            stringCell(out, 6, rowNum, layout.dataStyle, event.getCost() == 0 ? "Free" : "$" + event.getCost());
+            stringCell(out, 7, rowNum, layout.dataStyle, event.getHeaderImagePath());
+            stringCell(out, 8, rowNum, layout.dataStyle, ExcelDataManager.joinRegisteredStudents(event.getRegisteredStudents()));
+            out.write("</row>");
+            rowNum++;
+        }
+
+        out.write("</sheetData></worksheet>");
+        out.flush();
+    }
+
+    private static void stringCell(Writer out, int col, int rowNum, int style, String value) throws IOException {
+        out.write("<c r=\"" + CellReference.convertNumToColString(col) + rowNum + "\" s=\"" + style + "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        escape(out, value == null ? "" : value);
+        out.write("</t></is></c>");
+    }
+
+    private static void numberCell(Writer out, int col, int rowNum, int style, double value) throws IOException {
+        out.write("<c r=\"" + CellReference.convertNumToColString(col) + rowNum + "\" s=\"" + style + "\"><v>");
+        if (value == Math.floor(value) && !Double.isInfinite(value)) {
+            out.write(Long.toString((long) value));
+        } else {
+            out.write(Double.toString(value));
+        }
+        out.write("</v></c>");
+    }
+
+    private static void escape(Writer out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<': out.write("&lt;"); break;
+                case '>': out.write("&gt;"); break;
+                case '&': out.write("&amp;"); break;
+                case '"': out.write("&quot;"); break;
+                default:
+                    // Control characters other than tab, newline and carriage return are not allowed in XML
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        out.write(c);
+                    }
+            }
+        }
+    }
+}
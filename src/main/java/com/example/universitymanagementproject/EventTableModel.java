@@ -0,0 +1,147 @@
+package com.example.universitymanagementproject;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Rows of the event table, kept in step with EventService through its change notifications.
+ * One long-lived list is patched in place, so the table only lays out rows that changed instead of
+ * being handed a new list after every edit. Rows stay in the service's table order; an index by
+ * event code finds a row without scanning. Notifications may arrive on any thread and are applied
+ * on the JavaFX application thread; everything else here is used on that thread only.
+ * The controller can also show its own edits before the service confirms them; each such edit
+ * returns an action that takes it back if the service rejects it.
+ */
+final class EventTableModel implements EventService.Listener {
+    private final ObservableList<Event> items = FXCollections.observableArrayList();
+    private final Map<String, Integer> indexByCode = new HashMap<>();
+    // Told about rows that were replaced or whose registrations changed, after the list is updated
+    private final Consumer<Event> rowChanged;
+
+    EventTableModel(Consumer<Event> rowChanged) {
+        this.rowChanged = rowChanged;
+    }
+
+    ObservableList<Event> getItems() {
+        return items;
+    }
+
+    // Replaces all rows, e.g. with the service's events once they are loaded
+    void load(List<Event> events) {
+        items.setAll(events);
+        reindexFrom(0);
+    }
+
+    // The row for an event code, or null
+    Event find(String eventCode) {
+        Integer index = indexByCode.get(eventCode);
+        return index == null ? null : items.get(index);
+    }
+
+    /*
+     * Optimistic edits. A notification for the same code may arrive before the service's answer;
+     * the undo actions then leave the row as the notification set it, since that is the confirmed state.
+     */
+
+    Runnable showAdded(Event event) {
+        String eventCode = event.getEventCode();
+        if (indexByCode.containsKey(eventCode)) {
+            return () -> {};
+        }
+        put(event);
+        return () -> {
+            if (find(eventCode) == event) {
+                remove(eventCode);
+            }
+        };
+    }
+
+    Runnable showReplaced(Event event) {
+        String eventCode = event.getEventCode();
+        Event previous = find(eventCode);
+        if (previous == null) {
+            return () -> {};
+        }
+        put(event);
+        return () -> {
+            if (find(eventCode) == event) {
+                put(previous);
+            }
+        };
+    }
+
+    Runnable showRemoved(String eventCode) {
+        Integer index = indexByCode.get(eventCode);
+        if (index == null) {
+            return () -> {};
+        }
+        Event previous = items.get(index);
+        remove(eventCode);
+        return () -> {
+            if (!indexByCode.containsKey(eventCode)) {
+                int position = Math.min(index, items.size());
+                items.add(position, previous);
+                reindexFrom(position);
+            }
+        };
+    }
+
+    @Override
+    public void eventAdded(Event event) {
+        Platform.runLater(() -> put(event));
+    }
+
+    @Override
+    public void eventUpdated(Event oldEvent, Event newEvent) {
+        Platform.runLater(() -> put(newEvent));
+    }
+
+    @Override
+    public void eventRemoved(Event event) {
+        Platform.runLater(() -> remove(event.getEventCode()));
+    }
+
+    @Override
+    public void registrationsChanged(Event event) {
+        // Setting the same instance again makes the table refresh just that row
+        Platform.runLater(() -> put(event));
+    }
+
+    /*
+     * Adds or replaces the row with this event's code. Applying a change twice is harmless, which
+     * covers notifications that overlap the initial load.
+     */
+    private void put(Event event) {
+        Integer index = indexByCode.get(event.getEventCode());
+        if (index == null) {
+            indexByCode.put(event.getEventCode(), items.size());
+            items.add(event);
+            return;
+        }
+        items.set(index, event);
+        rowChanged.accept(event);
+    }
+
+    private void remove(String eventCode) {
+        Integer index = indexByCode.remove(eventCode);
+        if (index != null) {
+            items.remove((int) index);
+            reindexFrom(index);
+        }
+    }
+
+    private void reindexFrom(int start) {
+        if (start == 0) {
+            indexByCode.clear();
+        }
+        for (int i = start; i < items.size(); i++) {
+            indexByCode.put(items.get(i).getEventCode(), i);
+        }
+    }
+}
@@ -6,10 +6,14 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -18,17 +22,153 @@ import java.util.Objects;
  */
 public class ExcelDataManager {
     private static final String FILE_PATH = "UMS_Data.xlsx";
-    private static final int EVENT_SHEET_INDEX = 4;
+    static final int SUBJECT_SHEET_INDEX = 0;
+    static final int COURSE_SHEET_INDEX = 1;
+    static final int STUDENT_SHEET_INDEX = 2;
+    static final int FACULTY_SHEET_INDEX = 3;
+    static final int EVENT_SHEET_INDEX = 4;
+    // 学生表和教师表中ID和密码所在的列
+    static final int STUDENT_PASSWORD_COLUMN = 11;
+    static final int FACULTY_PASSWORD_COLUMN = 7;
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int EVENT_COLUMN_COUNT = 9;
+    // 传给decodeEventRow表示容量尚未按数值读出，需要从字符串解析
+    private static final int CAPACITY_FROM_TEXT = Integer.MIN_VALUE;
+
+    // 读写耗时和数据量的统计，未启用Metrics时不产生开销
+    private static final LatencyHistogram READ_EVENTS_TIMER = Metrics.timer("excel.readEvents");
+    private static final Metrics.Counter ROWS_PARSED = Metrics.counter("excel.readEvents.rowsParsed");
+    private static final Metrics.Counter SNAPSHOT_HITS = Metrics.counter("excel.readEvents.snapshotHits");
+    private static final LatencyHistogram WRITE_EVENTS_TIMER = Metrics.timer("excel.writeEvents");
+    private static final Metrics.Counter ROWS_WRITTEN = Metrics.counter("excel.writeEvents.rowsWritten");
+    private static final Metrics.Counter BYTES_WRITTEN = Metrics.counter("excel.writeEvents.bytesWritten");
+
+    // 事件工作表的标题和列宽（单位为字符宽度）
+    static final String[] EVENT_HEADERS = {
+            "EventCode", "EventName", "Description", "Location", "DateTime",
+            "Capacity", "Cost", "HeaderImagePath", "RegisteredStudents"
+    };
+    static final int[] EVENT_COLUMN_WIDTHS = {15, 20, 40, 15, 20, 10, 10, 30, 50};
+
+    /**
+     * 读取模式
+     * DOM: 使用XSSFWorkbook把整个工作簿载入内存
+     * STREAMING: 使用XSSFReader + SAX只逐行解析事件工作表，内存占用有界，结果由WorkbookCache共享
+     * SNAPSHOT: 优先读取工作簿旁的二进制快照（WorkbookSnapshot），快照缺失或比工作簿旧时按STREAMING读取并重建快照（默认）
+     */
+    public enum ReadMode {
+        DOM,
+        STREAMING,
+        SNAPSHOT
+    }
+
+    /**
+     * 写入模式
+     * DOM: 使用XSSFWorkbook读入整个工作簿，重建事件工作表后整体写回
+     * STREAMING: 由EventSheetWriter直接流式生成事件工作表的XML部分，其他工作表原样复制（默认）
+     */
+    public enum WriteMode {
+        DOM,
+        STREAMING
+    }
+
+    private final String filePath;
+    private final ReadMode readMode;
+    private final WriteMode writeMode;
+    // 最近一次读取事件时发现的无效单元格
+    private volatile EventReadReport lastReadReport = new EventReadReport();
+
+    public ExcelDataManager() {
+        this(ReadMode.SNAPSHOT);
+    }
+
+    public ExcelDataManager(ReadMode readMode) {
+        this(FILE_PATH, readMode);
+    }
+
+    /**
+     * @param filePath 工作簿路径，默认为当前目录下的UMS_Data.xlsx
+     * @param readMode 读取模式
+     */
+    public ExcelDataManager(String filePath, ReadMode readMode) {
+        this(filePath, readMode, WriteMode.STREAMING);
+    }
+
+    public ExcelDataManager(String filePath, ReadMode readMode, WriteMode writeMode) {
+        this.filePath = filePath;
+        this.readMode = readMode;
+        this.writeMode = writeMode;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    public WriteMode getWriteMode() {
+        return writeMode;
+    }
+
+    /**
+     * @return 最近一次readEvents发现的无效单元格（容量、费用、日期无法解析等），从快照读取时为空
+     */
+    public EventReadReport getLastReadReport() {
+        return lastReadReport;
+    }
 
     //从Excel读取事件数据
      // @return 事件列表
     //  @throws IOException 如果文件操作失败
 
     public List<Event> readEvents() throws IOException {
+        JfrEvents.ReadEvents flightEvent = new JfrEvents.ReadEvents();
+        flightEvent.begin();
+        long start = Metrics.startTimer();
+        List<Event> events = null;
+        try {
+            if (readMode == ReadMode.SNAPSHOT) {
+                events = readEventsSnapshot();
+            } else if (readMode == ReadMode.STREAMING) {
+                events = readEventsStreaming();
+            } else {
+                events = readEventsDom();
+            }
+            return events;
+        } finally {
+            READ_EVENTS_TIMER.recordSince(start);
+            if (flightEvent.shouldCommit()) {
+                flightEvent.filePath = filePath;
+                flightEvent.sheetIndex = EVENT_SHEET_INDEX;
+                flightEvent.mode = readMode.name();
+                flightEvent.rowCount = events == null ? -1 : events.size();
+                flightEvent.fileSize = fileSize();
+                flightEvent.commit();
+            }
+        }
+    }
+
+    // 工作簿的字节数，文件不存在时为-1
+    private long fileSize() {
+        try {
+            return Files.size(Paths.get(filePath));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 以DOM方式读取事件工作表
+     * @return 事件列表
+     * @throws IOException 如果文件操作失败
+     */
+    private List<Event> readEventsDom() throws IOException {
         List<Event> events = new ArrayList<>();
+        EventReadReport report = new EventReadReport();
 
-        try (FileInputStream fis = new FileInputStream(FILE_PATH);
+        try (FileInputStream fis = new FileInputStream(filePath);
              Workbook workbook = new XSSFWorkbook(fis)) {
             System.out.println("Reading events from Excel file...");
 
@@ -40,95 +180,282 @@ public class ExcelDataManager {
             }
 
             // 跳过标题行(第一行)，从第二行开始读取数据
+            String[] values = new String[EVENT_COLUMN_COUNT];
             for (int i = 1; i <= sheet.getLastRowNum(); i++) {
                 Row row = sheet.getRow(i);
                 if (row == null) continue;
+                ROWS_PARSED.increment();
 
-                // 读取事件代码，如为空则跳过该行
-                String eventCode = getCellValueAsString(row.getCell(0));
-                if (eventCode.isEmpty()) continue;
+                // 日期和数值型的容量直接按单元格类型读取，不经过字符串
+                for (int col = 0; col < EVENT_COLUMN_COUNT; col++) {
+                    values[col] = col == 4 ? "" : getCellValueAsString(row.getCell(col));
+                }
+                Cell capacityCell = row.getCell(5);
+                int capacity = capacityCell != null && capacityCell.getCellType() == CellType.NUMERIC
+                        ? (int) capacityCell.getNumericCellValue() : CAPACITY_FROM_TEXT;
+
+                Event event = decodeEventRow(values, getCellValueAsLocalDateTime(row.getCell(4), i + 1, report),
+                        capacity, i + 1, report);
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+        }
 
-                // 读取其他事件字段
-                String eventName = getCellValueAsString(row.getCell(1));
-                String description = getCellValueAsString(row.getCell(2));
-                String location = getCellValueAsString(row.getCell(3));
+        finishRead(events, report);
+        return events;
+    }
 
-                // 日期时间处理
-                LocalDateTime dateTime = getCellValueAsLocalDateTime(row.getCell(4));
-                if (dateTime == null) {
-                    dateTime = LocalDateTime.now();
-                }
+    // 记录本次读取的报告，并只输出一行汇总而不是逐个打印无效值
+    private void finishRead(List<Event> events, EventReadReport report) {
+        lastReadReport = report;
+        System.out.println("read successfully " + events.size() + " events！");
+        if (report.hasIssues()) {
+            System.out.println(report.getIssueCount() + " invalid event values, first: " + report.getIssues().get(0));
+        }
+    }
 
-                // 容量和费用处理
-                String capacityStr = getCellValueAsString(row.getCell(5)).strip();
-                int capacity = 0;
-                try {
-                    capacity = (int) Double.parseDouble(capacityStr);
-                } catch (NumberFormatException e) {
-                    System.out.println("the capacity is wrong: " + capacityStr);
-                }
+    /**
+     * 从二进制快照读取事件
+     * 快照不可用时流式读取工作簿，并用读到的事件和登录凭据重建快照，下次启动即可直接使用
+     * @return 事件列表
+     * @throws IOException 如果文件操作失败
+     */
+    private List<Event> readEventsSnapshot() throws IOException {
+        List<Event> events = WorkbookSnapshot.readEvents(filePath);
+        if (events != null) {
+            SNAPSHOT_HITS.increment();
+            lastReadReport = new EventReadReport();
+            System.out.println("read successfully " + events.size() + " events from snapshot！");
+            return events;
+        }
 
-                String costStr = getCellValueAsString(row.getCell(6));
-                double cost = 0.0;
-                if (costStr.contains("Free") || costStr.equals("0.0") || costStr.isEmpty()) {
-                    cost = 0.0;
-                } else {
-                    try {
-                        // 尝试解析带有货币符号的金额，如"$10.0"或"￥10.0"
-                        if (costStr.contains("$")) {
-                            String[] parts = costStr.split("\\$");
-                            if (parts.length > 1) {
-                                costStr = parts[1].replaceAll("[^\\d.]", "");
-                            }
-                        } else {
-                            costStr = costStr.replaceAll("[^\\d.]", ""); // 只保留数字和小数点
-                        }
-                        cost = Double.parseDouble(costStr);
-                    } catch (NumberFormatException e) {
-                        System.out.println("the cost is wrong: " + costStr);
-                    }
-                }
+        // 读取前记下工作簿的戳记，读取期间工作簿若被修改，新快照会因戳记不符而被忽略
+        WorkbookSnapshot.Stamp stamp = WorkbookSnapshot.Stamp.of(filePath);
+        Map<String, String> students = new HashMap<>();
+        Map<String, String> faculties = new HashMap<>();
+        readCredentialsFromWorkbook(students, faculties);
+        events = readEventsStreaming();
+        writeSnapshot(stamp, events, students, faculties);
+        return events;
+    }
 
-                // 头图路径，如为空则使用默认图片
-                String headerImagePath = getCellValueAsString(row.getCell(7));
-                if (headerImagePath.isEmpty()) {
-                    headerImagePath = "default_header.png";
-                    //the path need to be changed//
-                }
+    /**
+     * 读取学生和教师的登录凭据（ID -> 密码），ID或密码为空的行会被跳过
+     * SNAPSHOT模式下优先从快照读取
+     * @param students 学生凭据写入的映射
+     * @param faculties 教师凭据写入的映射
+     * @throws IOException 如果文件操作失败
+     */
+    public void readCredentials(Map<String, String> students, Map<String, String> faculties) throws IOException {
+        if (readMode == ReadMode.SNAPSHOT && WorkbookSnapshot.readCredentials(filePath, students, faculties)) {
+            return;
+        }
+        readCredentialsFromWorkbook(students, faculties);
+    }
 
-                // 处理注册学生
-                String registeredStudents = getCellValueAsString(row.getCell(8));
-                List<String> registeredStudentsList = new ArrayList<>();
-                if (!registeredStudents.isEmpty()) {
-                    String[] studentIds = registeredStudents.split(",");
-                    for (String id : studentIds) {
-                        String trimmedId = id.trim();
-                        if (!trimmedId.isEmpty()) {
-                            registeredStudentsList.add(trimmedId);
-                        }
-                    }
-                }
+    private void readCredentialsFromWorkbook(Map<String, String> students, Map<String, String> faculties) throws IOException {
+        Map<Integer, List<String[]>> sheets = WorkbookCache.getSheets(filePath, STUDENT_SHEET_INDEX, FACULTY_SHEET_INDEX);
+        internStudentIds(sheets.get(STUDENT_SHEET_INDEX));
+        collectCredentials(sheets.get(STUDENT_SHEET_INDEX), STUDENT_PASSWORD_COLUMN, students);
+        collectCredentials(sheets.get(FACULTY_SHEET_INDEX), FACULTY_PASSWORD_COLUMN, faculties);
+    }
 
-                // 创建事件对象
-                Event event = new Event(eventName, eventCode, description, headerImagePath, location, dateTime, capacity, cost);
-                event.setRegisteredStudents(registeredStudentsList);
-                events.add(event);
+    // 按学生工作表的行顺序登记学生ID，使表中的学生在StudentDictionary中获得最小且连续的编号
+    static void internStudentIds(List<String[]> rows) {
+        StudentDictionary dictionary = StudentDictionary.global();
+        for (String[] row : rows) {
+            String id = WorkbookCache.cell(row, 0);
+            if (!id.isEmpty()) {
+                dictionary.intern(id);
             }
         }
+    }
 
-        System.out.println("read successfully " + events.size() + " events！");
+    static void collectCredentials(List<String[]> rows, int passwordColumn, Map<String, String> credentials) {
+        // 标题行已由WorkbookCache跳过
+        for (String[] row : rows) {
+            String id = WorkbookCache.cell(row, 0);
+            String password = WorkbookCache.cell(row, passwordColumn);
+            if (!id.isEmpty() && !password.isEmpty()) {
+                credentials.put(id, password);
+            }
+        }
+    }
+
+    // 快照写入失败不影响工作簿本身，旧快照因戳记与工作簿不符会被忽略；stamp为null表示内容刚写入工作簿
+    private void writeSnapshot(WorkbookSnapshot.Stamp stamp, List<Event> events, Map<String, String> students,
+                               Map<String, String> faculties) {
+        try {
+            WorkbookSnapshot.write(filePath, stamp, events, students, faculties);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("failed to write snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 以流式方式读取事件工作表
+     * 通过WorkbookCache用SAX只解析事件工作表，每解析完一行立即解码为事件，不缓存行数据，内存占用有界
+     * @return 事件列表
+     * @throws IOException 如果文件操作失败
+     */
+    private List<Event> readEventsStreaming() throws IOException {
+        System.out.println("Streaming events from Excel file...");
+        EventReadReport report = new EventReadReport();
+        List<Event> events = new ArrayList<>();
+        WorkbookCache.streamSheets(filePath, Map.of(EVENT_SHEET_INDEX, eventDecoder(events, report)));
+        finishRead(events, report);
         return events;
     }
 
+    /**
+     * 流式读取事件工作表时的行处理器，每收到一行就解码为事件
+     * @param events 解码出的事件追加到此列表，事件代码为空的行被跳过
+     * @param report 收集无效单元格
+     */
+    WorkbookCache.RowHandler eventDecoder(List<Event> events, EventReadReport report) {
+        String[] values = new String[EVENT_COLUMN_COUNT];
+        return (rowNumber, cells) -> {
+            ROWS_PARSED.increment();
+            for (int col = 0; col < EVENT_COLUMN_COUNT; col++) {
+                values[col] = WorkbookCache.cell(cells, col);
+            }
+            Event event = decodeEventRow(values, null, CAPACITY_FROM_TEXT, rowNumber, report);
+            if (event != null) {
+                events.add(event);
+            }
+        };
+    }
+
+    /**
+     * 把一行单元格的字符串值解码为事件对象
+     * DOM和流式两种读取模式共用这一解码逻辑；无效值使用默认值并记入报告，不抛出异常
+     * @param values 按列排列的单元格字符串值
+     * @param dateTime 已解析的日期时间，为null时尝试从第5列的字符串解析
+     * @param capacity 已直接读出的数值容量，为CAPACITY_FROM_TEXT时从第6列的字符串解析
+     * @param rowNumber Excel中的行号（标题为第1行），用于报告
+     * @param report 收集无效单元格
+     * @return 事件对象，如事件代码为空则返回null
+     */
+    private Event decodeEventRow(String[] values, LocalDateTime dateTime, int capacity, int rowNumber, EventReadReport report) {
+        // 读取事件代码，如为空则跳过该行
+        String eventCode = values[0];
+        if (eventCode.isEmpty()) return null;
+
+        // 读取其他事件字段
+        String eventName = values[1];
+        String description = values[2];
+        String location = values[3];
+
+        // 日期时间处理，无法解析时使用当前时间
+        if (dateTime == null) {
+            dateTime = EventFieldParser.parseDateTime(values[4]);
+            if (dateTime == null) {
+                report.add(rowNumber, "DateTime", values[4], "expected yyyy-MM-dd HH:mm, using the current time");
+                dateTime = LocalDateTime.now();
+            }
+        }
+
+        // 容量处理，无法解析时为0
+        if (capacity == CAPACITY_FROM_TEXT) {
+            capacity = EventFieldParser.parseCapacity(values[5]);
+            if (capacity == EventFieldParser.INVALID_CAPACITY) {
+                report.add(rowNumber, "Capacity", values[5], "not a number, using 0");
+                capacity = 0;
+            }
+        }
+
+        // 费用处理，支持"Free"以及带货币符号的金额，如"$10.0"或"￥10.0"
+        double cost = EventFieldParser.parseCost(values[6]);
+        if (Double.isNaN(cost)) {
+            report.add(rowNumber, "Cost", values[6], "no amount found, using 0");
+            cost = 0.0;
+        }
+
+        // 头图路径，如为空则使用默认图片
+        String headerImagePath = values[7];
+        if (headerImagePath.isEmpty()) {
+            headerImagePath = "default_header.png";
+            //the path need to be changed//
+        }
+
+        // 处理注册学生
+        List<String> registeredStudentsList = EventFieldParser.parseStudentIds(values[8]);
+
+        // 创建事件对象
+        Event event = new Event(eventName, eventCode, description, headerImagePath, location, dateTime, capacity, cost);
+        event.setRegisteredStudents(registeredStudentsList);
+        return event;
+    }
+
     /**
      * 将事件数据写入Excel
      * @param events 要写入的事件列表
      * @throws IOException 如果文件操作失败
      */
     public void writeEvents(List<Event> events) throws IOException {
+        JfrEvents.WriteEvents flightEvent = new JfrEvents.WriteEvents();
+        flightEvent.begin();
+        long start = Metrics.startTimer();
+        boolean succeeded = false;
+        try {
+            writeEventsAndSnapshot(events);
+            succeeded = true;
+        } finally {
+            WRITE_EVENTS_TIMER.recordSince(start);
+            if (flightEvent.shouldCommit()) {
+                flightEvent.filePath = filePath;
+                flightEvent.sheetIndex = EVENT_SHEET_INDEX;
+                flightEvent.mode = writeMode.name();
+                flightEvent.rowCount = events.size();
+                flightEvent.fileSize = fileSize();
+                flightEvent.succeeded = succeeded;
+                flightEvent.commit();
+            }
+        }
+        ROWS_WRITTEN.add(events.size());
+        if (Metrics.isEnabled()) {
+            BYTES_WRITTEN.add(fileSize());
+        }
+    }
+
+    private void writeEventsAndSnapshot(List<Event> events) throws IOException {
+        // 改写工作簿会使快照过期，所以先趁快照仍有效时取出登录凭据
+        Map<String, String> students = null;
+        Map<String, String> faculties = null;
+        if (readMode == ReadMode.SNAPSHOT) {
+            students = new HashMap<>();
+            faculties = new HashMap<>();
+            try {
+                readCredentials(students, faculties);
+            } catch (IOException e) {
+                // 工作簿尚不存在时无法取得凭据，本次不写快照
+                students = null;
+            }
+        }
+
+        // 流式写入要求工作簿已存在且包含事件工作表，否则退回DOM方式
+        if (writeMode == WriteMode.STREAMING && EventSheetWriter.write(filePath, EVENT_SHEET_INDEX, events)) {
+            WorkbookCache.invalidate(filePath);
+            System.out.println("successfully " + events.size() + " saved events");
+        } else {
+            writeEventsDom(events);
+        }
+
+        if (students != null) {
+            writeSnapshot(null, events, students, faculties);
+        }
+    }
+
+    /**
+     * 以DOM方式写入事件数据
+     * @param events 要写入的事件列表
+     * @throws IOException 如果文件操作失败
+     */
+    private void writeEventsDom(List<Event> events) throws IOException {
         // 首先读取现有工作簿，以保留其他工作表
         Workbook workbook;
-        try (FileInputStream fis = new FileInputStream(FILE_PATH)) {
+        try (FileInputStream fis = new FileInputStream(filePath)) {
             workbook = new XSSFWorkbook(fis);
         } catch (IOException e) {
             // 如果文件不存在，创建新工作簿
@@ -158,21 +485,12 @@ public class ExcelDataManager {
 
         // 创建标题行
         Row headerRow = sheet.createRow(0);
-        String[] headers = {
-                "EventCode", "EventName", "Description", "Location", "DateTime",
-                "Capacity", "Cost", "HeaderImagePath", "RegisteredStudents"
-        };
+        String[] headers = EVENT_HEADERS;
 
         // 设置列宽
-        sheet.setColumnWidth(0, 15 * 256); // 事件代码
-        sheet.setColumnWidth(1, 20 * 256); // 事件名称
-        sheet.setColumnWidth(2, 40 * 256); // 描述
-        sheet.setColumnWidth(3, 15 * 256); // 地点
-        sheet.setColumnWidth(4, 20 * 256); // 日期时间
-        sheet.setColumnWidth(5, 10 * 256); // 容量
-        sheet.setColumnWidth(6, 10 * 256); // 费用
-        sheet.setColumnWidth(7, 30 * 256); // 头图路径
-        sheet.setColumnWidth(8, 50 * 256); // 注册学生
+        for (int i = 0; i < EVENT_COLUMN_WIDTHS.length; i++) {
+            sheet.setColumnWidth(i, EVENT_COLUMN_WIDTHS[i] * 256);
+        }
 
         // 创建标题单元格样式
         CellStyle headerStyle = workbook.createCellStyle();
@@ -257,29 +575,15 @@ public class ExcelDataManager {
 
             // 注册学生
             Cell studentsCell = row.createCell(8);
-            List<String> students = event.getRegisteredStudents();
-            if (students != null && !students.isEmpty()) {
-                // 过滤掉空项并用逗号连接
-                StringBuilder sb = new StringBuilder();
-                for (String student : students) {
-                    if (student != null && !student.trim().isEmpty()) {
-                        if (sb.length() > 0) {
-                            sb.append(", ");
-                        }
-                        sb.append(student.trim());
-                    }
-                }
-                studentsCell.setCellValue(sb.toString());
-            } else {
-                studentsCell.setCellValue("");
-            }
+            studentsCell.setCellValue(joinRegisteredStudents(event.getRegisteredStudents()));
             studentsCell.setCellStyle(dataStyle);
         }
 
         // 将工作簿写入文件
-        try (FileOutputStream fos = new FileOutputStream(FILE_PATH)) {
+        try (FileOutputStream fos = new FileOutputStream(filePath)) {
             workbook.write(fos);
         }
+        WorkbookCache.invalidate(filePath);
 
         // 关闭工作簿
         workbook.close();
@@ -287,6 +591,27 @@ public class ExcelDataManager {
         System.out.println("successfully " + events.size() + " saved events");
     }
 
+    /**
+     * 把注册学生列表连接为单元格文本
+     * @param students 注册学生列表
+     * @return 过滤掉空项后用逗号连接的字符串
+     */
+    static String joinRegisteredStudents(List<String> students) {
+        if (students == null || students.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String student : students) {
+            if (student != null && !student.trim().isEmpty()) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(student.trim());
+            }
+        }
+        return sb.toString();
+    }
+
     /**
      * 获取单元格的字符串值
      * @param cell Excel单元格
@@ -332,27 +657,26 @@ public class ExcelDataManager {
     /**
      * 获取单元格的LocalDateTime值
      * @param cell Excel单元格
+     * @param rowNumber Excel中的行号，用于报告
+     * @param report 收集无效单元格
      * @return 单元格的LocalDateTime值，如果单元格为空或不是日期格式则返回null
      */
-    private LocalDateTime getCellValueAsLocalDateTime(Cell cell) {
+    private LocalDateTime getCellValueAsLocalDateTime(Cell cell, int rowNumber, EventReadReport report) {
         if (cell == null) {
             return null;
         }
 
-        try {
-            if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
-                return cell.getLocalDateTimeCellValue();
-            } else if (cell.getCellType() == CellType.STRING) {
-                // 尝试从字符串解析日期时间
-                String dateTimeStr = cell.getStringCellValue();
-                try {
-                    return LocalDateTime.parse(dateTimeStr, DATE_TIME_FORMATTER);
-                } catch (Exception e) {
-                    System.out.println("invalid string: " + dateTimeStr);
-                }
+        if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
+            return cell.getLocalDateTimeCellValue();
+        } else if (cell.getCellType() == CellType.STRING) {
+            // 尝试从字符串解析日期时间；解析失败时由decodeEventRow记入报告
+            String dateTimeStr = cell.getStringCellValue();
+            LocalDateTime dateTime = EventFieldParser.parseDateTime(dateTimeStr);
+            if (dateTime == null) {
+                report.add(rowNumber, "DateTime", dateTimeStr, "expected yyyy-MM-dd HH:mm, using the current time");
+                return LocalDateTime.now();
             }
-        } catch (Exception e) {
-            System.out.println("cannot get the date: " + e.getMessage());
+            return dateTime;
         }
 
         return null;
@@ -0,0 +1,270 @@
+package com.example.universitymanagementproject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Event repository on the Excel workbook.
+ * The workbook can only be rewritten as a whole, so each mutation is appended to the EventJournal
+ * and applied to a private copy of the catalogue; the write-behind persister folds that copy into
+ * the workbook in the background and the journal is discarded once it is on disk.
+ * Callers must not mutate one event concurrently; EventService's locks already ensure that.
+ * Mutations of different events run concurrently here, and only wait for each other inside the
+ * journal's own append lock.
+ */
+public class ExcelEventRepository implements EventRepository {
+    // Journal size that triggers folding it into the workbook
+    private static final long COMPACTION_THRESHOLD_BYTES = 1024 * 1024;
+    private static final long COMPACTION_INTERVAL_MS = 60_000;
+    private static final int COMPACTION_BATCH_SIZE = 1000;
+
+    private final ExcelDataManager excelDataManager;
+    private final EventJournal journal;
+    private final WriteBehindPersister persister;
+
+    /*
+     * Held shared by each mutation from its journal append until its change is in the copies, and
+     * exclusively while the journal is rotated for a snapshot, so the snapshot contains every
+     * record of the rotated journal.
+     */
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    // Copies of the stored events, keyed by code in table order. Guarded by its own monitor, which is never held across I/O.
+    private final Map<String, Event> events = new LinkedHashMap<>();
+
+    public ExcelEventRepository(ExcelDataManager excelDataManager) throws IOException {
+        this.excelDataManager = excelDataManager;
+        this.journal = EventJournal.forWorkbook(excelDataManager.getFilePath());
+        this.persister = WriteBehindPersister.start(excelDataManager, this::snapshotForCompaction,
+                this::compacted, COMPACTION_INTERVAL_MS, COMPACTION_BATCH_SIZE);
+    }
+
+    public ExcelDataManager getExcelDataManager() {
+        return excelDataManager;
+    }
+
+    /**
+     * Reads the workbook and replays mutations journaled since it was last written.
+     * Replayed events are marked dirty, so they are folded into the workbook by the next flush.
+     */
+    @Override
+    public List<Event> findAll() throws IOException {
+        rotationLock.writeLock().lock();
+        try {
+            Map<String, Event> loaded = new LinkedHashMap<>();
+            for (Event event : excelDataManager.readEvents()) {
+                if (loaded.putIfAbsent(event.getEventCode(), event) != null) {
+                    System.out.println("Event with code " + event.getEventCode() + " already exists.");
+                }
+            }
+            replayJournal(loaded);
+            synchronized (events) {
+                events.clear();
+                events.putAll(loaded);
+                return copyEvents();
+            }
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+    }
+
+    private void replayJournal(Map<String, Event> loaded) throws IOException {
+        journal.replay(new EventJournal.Replayer() {
+            @Override
+            public void put(Event event) {
+                loaded.put(event.getEventCode(), event);
+                persister.markDirty(event.getEventCode());
+            }
+
+            @Override
+            public void delete(String eventCode) {
+                loaded.remove(eventCode);
+                persister.markDirty(eventCode);
+            }
+
+            @Override
+            public void register(String eventCode, String studentId) {
+                Event event = loaded.get(eventCode);
+                if (event != null) {
+                    event.registerStudent(studentId);
+                }
+                persister.markDirty(eventCode);
+            }
+
+            @Override
+            public void unregister(String eventCode, String studentId) {
+                Event event = loaded.get(eventCode);
+                if (event != null) {
+                    event.unregisterStudent(studentId);
+                }
+                persister.markDirty(eventCode);
+            }
+        });
+    }
+
+    @Override
+    public Optional<Event> findByCode(String eventCode) {
+        synchronized (events) {
+            Event event = events.get(eventCode);
+            return event == null ? Optional.empty() : Optional.of(event.copy());
+        }
+    }
+
+    @Override
+    public void insert(Event event) throws IOException {
+        Event copy = event.copy();
+        write(event.getEventCode(), () -> journal.appendPut(event), () -> events.put(copy.getEventCode(), copy));
+    }
+
+    @Override
+    public void update(Event event) throws IOException {
+        Event copy = event.copy();
+        // Replacing an existing key keeps its position in the table
+        write(event.getEventCode(), () -> journal.appendPut(event), () -> events.put(copy.getEventCode(), copy));
+    }
+
+    @Override
+    public void delete(String eventCode) throws IOException {
+        write(eventCode, () -> journal.appendDelete(eventCode), () -> events.remove(eventCode));
+    }
+
+    @Override
+    public void addRegistration(String eventCode, String studentId) throws IOException {
+        write(eventCode, () -> journal.appendRegister(eventCode, studentId), () -> {
+            Event event = events.get(eventCode);
+            if (event != null) {
+                event.registerStudent(studentId);
+            }
+        });
+    }
+
+    @Override
+    public void removeRegistration(String eventCode, String studentId) throws IOException {
+        write(eventCode, () -> journal.appendUnregister(eventCode, studentId), () -> {
+            Event event = events.get(eventCode);
+            if (event != null) {
+                event.unregisterStudent(studentId);
+            }
+        });
+    }
+
+    private interface JournalRecord {
+        void append() throws IOException;
+    }
+
+    // Journals a mutation, then applies it to the copies; the change is skipped if the append fails
+    private void write(String eventCode, JournalRecord record, Runnable change) throws IOException {
+        rotationLock.readLock().lock();
+        try {
+            record.append();
+            synchronized (events) {
+                change.run();
+            }
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        changed(eventCode);
+    }
+
+    /**
+     * Takes in events read from the workbook after it was edited outside the application.
+     * An event the application changed since its last flush keeps the application's version, and
+     * the next flush writes it over the outside edit. Every other event takes the workbook's
+     * version, and events missing from the workbook are dropped. Nothing is journaled, since the
+     * workbook already holds the result. Runs while no flush is in progress, so no dirty marker is
+     * cleared between checking it and merging.
+     * @return copies of the resulting events, in the workbook's order, followed by events added
+     *         in the application and not yet written
+     */
+    public List<Event> mergeExternal(List<Event> workbookEvents) {
+        return persister.whileNotFlushing(() -> mergeExternalEvents(workbookEvents));
+    }
+
+    private List<Event> mergeExternalEvents(List<Event> workbookEvents) {
+        synchronized (events) {
+            Map<String, Event> merged = new LinkedHashMap<>();
+            for (Event event : workbookEvents) {
+                String code = event.getEventCode();
+                if (merged.containsKey(code)) {
+                    continue;
+                }
+                if (!persister.isDirty(code)) {
+                    merged.put(code, event.copy());
+                } else if (events.containsKey(code)) {
+                    merged.put(code, events.get(code));
+                }
+            }
+            for (Event event : events.values()) {
+                if (persister.isDirty(event.getEventCode())) {
+                    merged.putIfAbsent(event.getEventCode(), event);
+                }
+            }
+            events.clear();
+            events.putAll(merged);
+            return copyEvents();
+        }
+    }
+
+    private void changed(String eventCode) {
+        persister.markDirty(eventCode);
+        if (journal.size() >= COMPACTION_THRESHOLD_BYTES) {
+            persister.requestFlush();
+        }
+    }
+
+    // Copies of the stored events; callers hold the monitor of events
+    private List<Event> copyEvents() {
+        List<Event> copies = new ArrayList<>(events.size());
+        for (Event event : events.values()) {
+            copies.add(event.copy());
+        }
+        return copies;
+    }
+
+    /*
+     * Runs on the write-behind thread. Rotating the journal and copying the catalogue while no
+     * mutation is between its append and its change means every record in the rotated file is in
+     * the copy, and everything journaled later is replayed idempotently on top of it.
+     */
+    private List<Event> snapshotForCompaction() {
+        rotationLock.writeLock().lock();
+        try {
+            try {
+                journal.rotate();
+            } catch (IOException e) {
+                // Records stay in the live journal and are replayed on top of this snapshot
+                System.out.println("Error rotating event journal: " + e.getMessage());
+            }
+            synchronized (events) {
+                return copyEvents();
+            }
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+    }
+
+    private void compacted() {
+        try {
+            journal.compacted();
+        } catch (IOException e) {
+            System.out.println("Error discarding compacted journal: " + e.getMessage());
+        }
+    }
+
+    // Writes pending changes to Excel immediately
+    @Override
+    public void flush() throws IOException {
+        persister.flush();
+    }
+
+    // Folds the journal into the workbook and stops the background compactor
+    @Override
+    public void close() throws IOException {
+        persister.close();
+        journal.close();
+    }
+}
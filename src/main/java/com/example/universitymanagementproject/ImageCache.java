@@ -0,0 +1,104 @@
+package com.example.universitymanagementproject;
+
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of decoded header images, bounded by a memory budget in bytes.
+ * Images are decoded in the background by JavaFX and scaled down to the size they are shown at
+ * while decoding, so a full-resolution photo costs only as much memory as the view it fills.
+ * Used on the JavaFX application thread only.
+ */
+final class ImageCache {
+    // Decoded images are stored as 32-bit ARGB
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final long maxBytes;
+    private final double width;
+    private final double height;
+    // Access-ordered, so iteration starts at the least recently used image
+    private final Map<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    /**
+     * @param maxBytes memory budget for decoded pixels
+     * @param width width images are scaled down to fit
+     * @param height height images are scaled down to fit
+     */
+    ImageCache(long maxBytes, double width, double height) {
+        this.maxBytes = maxBytes;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Returns the image for a file path, starting a background decode if it is not cached.
+     * The returned image may still be loading; an ImageView shows it as soon as it is ready.
+     * @return the image, or null if the file does not exist
+     */
+    Image get(String path) {
+        Image image = images.get(path);
+        if (image != null && !image.isError()) {
+            return image;
+        }
+        if (image != null) {
+            // Failed decodes are retried, e.g. after the file was replaced
+            remove(path);
+        }
+
+        File file = new File(path);
+        if (!file.exists()) {
+            return null;
+        }
+        image = new Image(file.toURI().toString(), width, height, true, true, true);
+        images.put(path, image);
+        usedBytes += weight();
+        evict();
+        return image;
+    }
+
+    // Starts decoding images that are likely to be shown next
+    void prefetch(Iterable<String> paths) {
+        for (String path : paths) {
+            if (path != null && !images.containsKey(path)) {
+                get(path);
+            }
+        }
+    }
+
+    void remove(String path) {
+        if (images.remove(path) != null) {
+            usedBytes -= weight();
+        }
+    }
+
+    long getUsedBytes() {
+        return usedBytes;
+    }
+
+    int size() {
+        return images.size();
+    }
+
+    /*
+     * The decoded size is not known until decoding finishes, so every image is charged the size of
+     * the box it is scaled into. That is an upper bound, since the aspect ratio is preserved.
+     */
+    private long weight() {
+        return (long) Math.ceil(width) * (long) Math.ceil(height) * BYTES_PER_PIXEL;
+    }
+
+    // Always keeps the most recent image, even if the budget is smaller than one image
+    private void evict() {
+        Iterator<Map.Entry<String, Image>> eldest = images.entrySet().iterator();
+        while (usedBytes > maxBytes && images.size() > 1) {
+            eldest.next();
+            eldest.remove();
+            usedBytes -= weight();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.universitymanagementproject;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Event repository on an embedded H2 database file.
+ * Each operation touches only the affected rows, so a registration is one indexed insert instead of
+ * a workbook rewrite. Table order is kept by the identity columns. The workbook is still used for
+ * import and export (see main).
+ */
+public class JdbcEventRepository implements EventRepository {
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS events ("
+                    + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    // The unique constraint doubles as the index for lookups by code
+                    + "event_code VARCHAR NOT NULL CONSTRAINT uq_events_code UNIQUE, "
+                    + "event_name VARCHAR, "
+                    + "description VARCHAR, "
+                    + "header_image_path VARCHAR, "
+                    + "location VARCHAR, "
+                    + "date_time TIMESTAMP NOT NULL, "
+                    + "capacity INT NOT NULL, "
+                    + "cost DOUBLE PRECISION NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS event_registrations ("
+                    + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "event_code VARCHAR NOT NULL REFERENCES events(event_code) ON DELETE CASCADE, "
+                    + "student_id VARCHAR NOT NULL)",
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_registrations_event_student ON event_registrations(event_code, student_id)",
+            "CREATE INDEX IF NOT EXISTS idx_registrations_student ON event_registrations(student_id)"
+    };
+
+    private static final String SELECT_EVENTS =
+            "SELECT event_code, event_name, description, header_image_path, location, date_time, capacity, cost FROM events";
+    private static final String SELECT_REGISTRATIONS = "SELECT event_code, student_id FROM event_registrations";
+    private static final String INSERT_EVENT = "INSERT INTO events "
+            + "(event_code, event_name, description, header_image_path, location, date_time, capacity, cost) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REGISTRATION = "INSERT INTO event_registrations (event_code, student_id) VALUES (?, ?)";
+    // Rows sent per JDBC batch when importing
+    private static final int IMPORT_BATCH_SIZE = 10_000;
+
+    // One connection, so operations are serialised on lock; not a monitor, because virtual threads wait on it across I/O
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Connection connection;
+
+    public JdbcEventRepository(String jdbcUrl) throws IOException {
+        try {
+            this.connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("cannot open event database " + jdbcUrl, e);
+        }
+    }
+
+    // Database file kept next to the given workbook, e.g. UMS_Data.xlsx -> UMS_Data.mv.db
+    public static JdbcEventRepository forWorkbook(String workbookPath) throws IOException {
+        String basePath = workbookPath.endsWith(".xlsx") ? workbookPath.substring(0, workbookPath.length() - 5) : workbookPath;
+        String absolutePath = Paths.get(basePath).toAbsolutePath().toString();
+        return new JdbcEventRepository("jdbc:h2:file:" + absolutePath);
+    }
+
+    @Override
+    public List<Event> findAll() throws IOException {
+        lock.lock();
+        try {
+            try (Statement statement = connection.createStatement()) {
+                Map<String, Event> events = new LinkedHashMap<>();
+                try (ResultSet rows = statement.executeQuery(SELECT_EVENTS + " ORDER BY id")) {
+                    while (rows.next()) {
+                        Event event = readEvent(rows);
+                        events.put(event.getEventCode(), event);
+                    }
+                }
+
+                Map<String, List<String>> registrations = new LinkedHashMap<>();
+                try (ResultSet rows = statement.executeQuery(SELECT_REGISTRATIONS + " ORDER BY id")) {
+                    while (rows.next()) {
+                        registrations.computeIfAbsent(rows.getString(1), code -> new ArrayList<>()).add(rows.getString(2));
+                    }
+                }
+                for (Map.Entry<String, List<String>> entry : registrations.entrySet()) {
+                    Event event = events.get(entry.getKey());
+                    if (event != null) {
+                        event.setRegisteredStudents(entry.getValue());
+                    }
+                }
+                return new ArrayList<>(events.values());
+            } catch (SQLException e) {
+                throw new IOException("cannot read events", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Event> findByCode(String eventCode) throws IOException {
+        lock.lock();
+        try {
+            try (PreparedStatement select = connection.prepareStatement(SELECT_EVENTS + " WHERE event_code = ?")) {
+                select.setString(1, eventCode);
+                Event event;
+                try (ResultSet rows = select.executeQuery()) {
+                    if (!rows.next()) {
+                        return Optional.empty();
+                    }
+                    event = readEvent(rows);
+                }
+                event.setRegisteredStudents(findRegistrations(eventCode));
+                return Optional.of(event);
+            } catch (SQLException e) {
+                throw new IOException("cannot read event " + eventCode, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<String> findRegistrations(String eventCode) throws SQLException {
+        List<String> studentIds = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT student_id FROM event_registrations WHERE event_code = ? ORDER BY id")) {
+            select.setString(1, eventCode);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    studentIds.add(rows.getString(1));
+                }
+            }
+        }
+        return studentIds;
+    }
+
+    private static Event readEvent(ResultSet rows) throws SQLException {
+        return new Event(rows.getString(2), rows.getString(1), rows.getString(3), rows.getString(4), rows.getString(5),
+                rows.getObject(6, LocalDateTime.class), rows.getInt(7), rows.getDouble(8));
+    }
+
+    @Override
+    public void insert(Event event) throws IOException {
+        lock.lock();
+        try {
+            inTransaction("cannot insert event " + event.getEventCode(), () -> {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_EVENT)) {
+                    insert.setString(1, event.getEventCode());
+                    setEventFields(insert, event, 2);
+                    insert.executeUpdate();
+                }
+                insertRegistrations(event.getEventCode(), event.getRegisteredStudents());
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void update(Event event) throws IOException {
+        lock.lock();
+        try {
+            inTransaction("cannot update event " + event.getEventCode(), () -> {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE events SET event_name = ?, description = ?, header_image_path = ?, location = ?, "
+                                + "date_time = ?, capacity = ?, cost = ? WHERE event_code = ?")) {
+                    setEventFields(update, event, 1);
+                    update.setString(8, event.getEventCode());
+                    update.executeUpdate();
+                }
+                try (PreparedStatement delete = connection.prepareStatement(
+                        "DELETE FROM event_registrations WHERE event_code = ?")) {
+                    delete.setString(1, event.getEventCode());
+                    delete.executeUpdate();
+                }
+                insertRegistrations(event.getEventCode(), event.getRegisteredStudents());
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sets name, description, header image, location, date-time, capacity and cost starting at the given parameter
+    private static void setEventFields(PreparedStatement statement, Event event, int first) throws SQLException {
+        statement.setString(first, event.getEventName());
+        statement.setString(first + 1, event.getDescription());
+        statement.setString(first + 2, event.getHeaderImagePath());
+        statement.setString(first + 3, event.getLocation());
+        statement.setObject(first + 4, event.getDateTime());
+        statement.setInt(first + 5, event.getCapacity());
+        statement.setDouble(first + 6, event.getCost());
+    }
+
+    private void insertRegistrations(String eventCode, List<String> studentIds) throws SQLException {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_REGISTRATION)) {
+            addRegistrations(insert, eventCode, studentIds);
+            insert.executeBatch();
+        }
+    }
+
+    private static void addRegistrations(PreparedStatement insert, String eventCode, List<String> studentIds) throws SQLException {
+        for (String studentId : studentIds) {
+            insert.setString(1, eventCode);
+            insert.setString(2, studentId);
+            insert.addBatch();
+        }
+    }
+
+    @Override
+    public void delete(String eventCode) throws IOException {
+        lock.lock();
+        try {
+            // Registrations go with the event through ON DELETE CASCADE
+            execute("DELETE FROM events WHERE event_code = ?", eventCode);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void addRegistration(String eventCode, String studentId) throws IOException {
+        lock.lock();
+        try {
+            // MERGE keeps the existing row (and its position) if the student is already registered
+            execute("MERGE INTO event_registrations (event_code, student_id) KEY (event_code, student_id) VALUES (?, ?)",
+                    eventCode, studentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeRegistration(String eventCode, String studentId) throws IOException {
+        lock.lock();
+        try {
+            execute("DELETE FROM event_registrations WHERE event_code = ? AND student_id = ?", eventCode, studentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole catalogue in one transaction, e.g. when importing the workbook.
+     * Of several events with the same code only the first is kept, as EventService does when loading.
+     */
+    public void replaceAll(List<Event> events) throws IOException {
+        lock.lock();
+        try {
+            Map<String, Event> unique = new LinkedHashMap<>();
+            for (Event event : events) {
+                if (unique.putIfAbsent(event.getEventCode(), event) != null) {
+                    System.out.println("Event with code " + event.getEventCode() + " already exists.");
+                }
+            }
+
+            inTransaction("cannot import events", () -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("DELETE FROM events");
+                }
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_EVENT)) {
+                    int batched = 0;
+                    for (Event event : unique.values()) {
+                        insert.setString(1, event.getEventCode());
+                        setEventFields(insert, event, 2);
+                        insert.addBatch();
+                        if (++batched % IMPORT_BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_REGISTRATION)) {
+                    int batched = 0;
+                    for (Event event : unique.values()) {
+                        List<String> studentIds = event.getRegisteredStudents();
+                        addRegistrations(insert, event.getEventCode(), studentIds);
+                        batched += studentIds.size();
+                        if (batched >= IMPORT_BATCH_SIZE) {
+                            insert.executeBatch();
+                            batched = 0;
+                        }
+                    }
+                    insert.executeBatch();
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() throws IOException {
+        lock.lock();
+        try {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM events")) {
+                rows.next();
+                return rows.getLong(1) == 0;
+            } catch (SQLException e) {
+                throw new IOException("cannot count events", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void execute(String sql, String... parameters) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("cannot execute " + sql, e);
+        }
+    }
+
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    private void inTransaction(String errorMessage, SqlWork work) throws IOException {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                work.run();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException(errorMessage, e);
+        }
+    }
+
+    // Every operation commits on its own
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                throw new IOException("cannot close event database", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies events between the workbook and the database.
+     * Usage: JdbcEventRepository import|export [workbook.xlsx]
+     */
+    public static void main(String[] args) throws IOException {
+        String command = args.length > 0 ? args[0] : "import";
+        String workbookPath = args.length > 1 ? args[1] : "UMS_Data.xlsx";
+        ExcelDataManager excelDataManager = new ExcelDataManager(workbookPath, ExcelDataManager.ReadMode.SNAPSHOT);
+
+        try (JdbcEventRepository repository = forWorkbook(workbookPath)) {
+            if (command.equals("export")) {
+                List<Event> events = repository.findAll();
+                excelDataManager.writeEvents(events);
+                System.out.println("exported " + events.size() + " events to " + workbookPath);
+            } else {
+                List<Event> events = excelDataManager.readEvents();
+                repository.replaceAll(events);
+                System.out.println("imported " + events.size() + " events from " + workbookPath);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.universitymanagementproject;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the application's business operations, so a recording
+ * attributes time and allocation to reading and writing the workbook, registrations and logins.
+ *
+ * The events are marked @Enabled(false), so the JDK's settings files leave them off, and they cost
+ * one allocation each while disabled. Enable them with the settings file shipped in src/main/jfr,
+ * on top of the JDK's own settings:
+ *
+ *   java -XX:StartFlightRecording:settings=default,settings=src/main/jfr/ums.jfc,filename=ums.jfr ...
+ */
+final class JfrEvents {
+    private static final String CATEGORY = "University Management";
+
+    private JfrEvents() {
+    }
+
+    @Name("com.example.universitymanagementproject.ReadEvents")
+    @Enabled(false)
+    @Label("Read Events")
+    @Category({CATEGORY, "Persistence"})
+    @Description("ExcelDataManager.readEvents")
+    static final class ReadEvents extends Event {
+        @Label("File")
+        String filePath;
+
+        @Label("Sheet Index")
+        int sheetIndex;
+
+        @Label("Read Mode")
+        String mode;
+
+        @Label("Row Count")
+        @Description("Events read, -1 if the read failed")
+        int rowCount;
+
+        @Label("File Size")
+        @DataAmount
+        long fileSize;
+    }
+
+    @Name("com.example.universitymanagementproject.WriteEvents")
+    @Enabled(false)
+    @Label("Write Events")
+    @Category({CATEGORY, "Persistence"})
+    @Description("ExcelDataManager.writeEvents")
+    static final class WriteEvents extends Event {
+        @Label("File")
+        String filePath;
+
+        @Label("Sheet Index")
+        int sheetIndex;
+
+        @Label("Write Mode")
+        String mode;
+
+        @Label("Row Count")
+        int rowCount;
+
+        @Label("File Size")
+        @Description("Size of the workbook after the write")
+        @DataAmount
+        long fileSize;
+
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+
+    @Name("com.example.universitymanagementproject.Registration")
+    @Enabled(false)
+    @Label("Registration")
+    @Category({CATEGORY, "Events"})
+    @Description("EventService.registerStudent and unregisterStudent")
+    @StackTrace(false)
+    static final class Registration extends Event {
+        @Label("Operation")
+        @Description("register or unregister")
+        String operation;
+
+        @Label("Event Code")
+        String eventCode;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Label("Seats Left")
+        @Description("Available seats after the call, -1 if the event does not exist")
+        int seatsLeft;
+    }
+
+    @Name("com.example.universitymanagementproject.LoginCheck")
+    @Enabled(false)
+    @Label("Login Check")
+    @Category({CATEGORY, "Authentication"})
+    @Description("Credential check on the login form; the password is never recorded")
+    @StackTrace(false)
+    static final class LoginCheck extends Event {
+        @Label("Username")
+        String username;
+
+        @Label("Role")
+        @Description("ADMIN, Student, Faculty, or unknown for an unknown username")
+        String role;
+
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+}
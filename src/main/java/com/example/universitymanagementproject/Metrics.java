@@ -0,0 +1,238 @@
+package com.example.universitymanagementproject;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and latency histograms for reading, writing and registering events.
+ *
+ * Disabled unless the JVM is started with -Dums.metrics=true. ENABLED is a static final, so when
+ * it is false the JIT folds every recording call away and the hot paths pay nothing.
+ * When enabled, each metric is registered as an MXBean under
+ * com.example.universitymanagementproject:type=Counter|Timer,name=..., and with
+ * -Dums.metrics.dumpSeconds=N the registry is dumped every N seconds: as JSON to the file named by
+ * -Dums.metrics.dumpFile, or as text to standard output when no file is given.
+ */
+public final class Metrics {
+    static final boolean ENABLED = Boolean.getBoolean("ums.metrics");
+    private static final String DUMP_SECONDS_PROPERTY = "ums.metrics.dumpSeconds";
+    private static final String DUMP_FILE_PROPERTY = "ums.metrics.dumpFile";
+    private static final String JMX_DOMAIN = "com.example.universitymanagementproject";
+
+    // Sorted by name so dumps are stable
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, LatencyHistogram> TIMERS = new ConcurrentSkipListMap<>();
+
+    static {
+        if (ENABLED) {
+            startDumper();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public interface CounterMXBean {
+        long getCount();
+
+        void reset();
+    }
+
+    public interface LatencyHistogramMXBean {
+        long getCount();
+
+        double getMeanMillis();
+
+        double getP50Millis();
+
+        double getP90Millis();
+
+        double getP99Millis();
+
+        double getMaxMillis();
+
+        void reset();
+    }
+
+    /**
+     * Monotonic count of an outcome. Backed by a LongAdder, so concurrent increments do not contend.
+     */
+    public static final class Counter implements CounterMXBean {
+        private final LongAdder count = new LongAdder();
+
+        private Counter() {
+        }
+
+        public void increment() {
+            if (ENABLED) {
+                count.increment();
+            }
+        }
+
+        public void add(long amount) {
+            if (ENABLED) {
+                count.add(amount);
+            }
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public void reset() {
+            count.reset();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return the start time for LatencyHistogram.recordSince, or 0 without reading the clock when disabled
+     */
+    public static long startTimer() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    // Returns the counter with this name, creating it on first use; callers keep it in a static final field
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> register(new Counter(), "Counter", key));
+    }
+
+    // Returns the latency histogram with this name, creating it on first use
+    public static LatencyHistogram timer(String name) {
+        return TIMERS.computeIfAbsent(name, key -> register(new LatencyHistogram(), "Timer", key));
+    }
+
+    private static <T> T register(T metric, String type, String name) {
+        if (!ENABLED) {
+            return metric;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(metric, new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            // The metric still works, it is just not visible over JMX
+            System.out.println("Error registering metric " + name + ": " + e.getMessage());
+        }
+        return metric;
+    }
+
+    // Clears every metric, e.g. between benchmark phases
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        TIMERS.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * One line per metric: counters with their count, timers with count, mean, percentiles and max in milliseconds.
+     */
+    public static String dumpText() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Counter> entry : COUNTERS.entrySet()) {
+            text.append("counter ").append(entry.getKey()).append(' ').append(entry.getValue().getCount())
+                    .append(System.lineSeparator());
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : TIMERS.entrySet()) {
+            LatencyHistogram timer = entry.getValue();
+            text.append("timer ").append(entry.getKey())
+                    .append(" count=").append(timer.getCount())
+                    .append(" mean=").append(millis(timer.getMeanMillis()))
+                    .append(" p50=").append(millis(timer.getP50Millis()))
+                    .append(" p90=").append(millis(timer.getP90Millis()))
+                    .append(" p99=").append(millis(timer.getP99Millis()))
+                    .append(" max=").append(millis(timer.getMaxMillis()))
+                    .append(" ms").append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    /**
+     * {"counters":{"name":count,...},"timers":{"name":{"count":n,"meanMs":..,"p50Ms":..,"p90Ms":..,"p99Ms":..,"maxMs":..},...}}
+     * Metric names are dotted identifiers, so they need no escaping.
+     */
+    public static String dumpJson() {
+        StringBuilder json = new StringBuilder("{\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Counter> entry : COUNTERS.entrySet()) {
+            json.append(separator).append('"').append(entry.getKey()).append("\":").append(entry.getValue().getCount());
+            separator = ",";
+        }
+        json.append("},\"timers\":{");
+        separator = "";
+        for (Map.Entry<String, LatencyHistogram> entry : TIMERS.entrySet()) {
+            LatencyHistogram timer = entry.getValue();
+            json.append(separator).append('"').append(entry.getKey()).append("\":{")
+                    .append("\"count\":").append(timer.getCount())
+                    .append(",\"meanMs\":").append(millis(timer.getMeanMillis()))
+                    .append(",\"p50Ms\":").append(millis(timer.getP50Millis()))
+                    .append(",\"p90Ms\":").append(millis(timer.getP90Millis()))
+                    .append(",\"p99Ms\":").append(millis(timer.getP99Millis()))
+                    .append(",\"maxMs\":").append(millis(timer.getMaxMillis()))
+                    .append('}');
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String millis(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static void startDumper() {
+        long seconds = Long.getLong(DUMP_SECONDS_PROPERTY, 0);
+        if (seconds <= 0) {
+            return;
+        }
+        String dumpFile = System.getProperty(DUMP_FILE_PROPERTY);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            if (dumpFile == null) {
+                System.out.print(dumpText());
+                return;
+            }
+            try {
+                writeJson(Paths.get(dumpFile));
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Error writing metrics: " + e.getMessage());
+            }
+        }, seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    // Replaces the file in one step, so a reader never sees a half-written dump
+    private static void writeJson(Path path) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), "metrics", ".json.tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(dumpJson());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.universitymanagementproject;
 
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.TabPane;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public class SceneController {
 
@@ -15,6 +21,27 @@ public class SceneController {
     @FXML
     private TabPane tabPane;
 
+    // "My events" tab; only in student-view.fxml
+    @FXML
+    private TableView<Event> myEventsTable;
+    @FXML
+    private TableColumn<Event, String> myEventNameColumn;
+    @FXML
+    private TableColumn<Event, LocalDateTime> myEventDateColumn;
+    @FXML
+    private TableColumn<Event, String> myEventLocationColumn;
+
+    private String currentUsername;
+
+    @FXML
+    public void initialize() {
+        if (myEventsTable != null) {
+            myEventNameColumn.setCellValueFactory(cell -> cell.getValue().eventNameProperty());
+            myEventDateColumn.setCellValueFactory(cell -> cell.getValue().dateTimeProperty());
+            myEventLocationColumn.setCellValueFactory(cell -> cell.getValue().locationProperty());
+        }
+    }
+
     // Method to set the welcome message and role
     public void setUserData(String username, String role) {
         welcomeLabel.setText("Welcome, 123456" + username + "!");
@@ -25,5 +52,31 @@ public class SceneController {
             tabPane.getProperties().put("currentUsername", username);
             tabPane.getProperties().put("currentRole", role);
         }
+
+        currentUsername = username;
+        loadMyEvents();
+    }
+
+    // Refreshes the list each time the tab is opened, so registrations made elsewhere show up
+    @FXML
+    public void handleMyEventsSelected() {
+        loadMyEvents();
+    }
+
+    // Looks the user's events up in the service's registration index; the first call may still be loading the workbook
+    private void loadMyEvents() {
+        if (myEventsTable == null || currentUsername == null) {
+            return;
+        }
+        String studentId = currentUsername;
+        Task<List<Event>> loadTask = new Task<>() {
+            @Override
+            protected List<Event> call() {
+                return EventService.getShared().getEventsForStudent(studentId);
+            }
+        };
+        loadTask.setOnSucceeded(e -> myEventsTable.getItems().setAll(loadTask.getValue()));
+        loadTask.setOnFailed(e -> System.out.println("Error loading registered events: " + loadTask.getException()));
+        EventController.IO_EXECUTOR.execute(loadTask);
     }
 }
\ No newline at end of file
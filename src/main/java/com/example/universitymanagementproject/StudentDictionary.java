@@ -0,0 +1,88 @@
+package com.example.universitymanagementproject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary from student IDs to dense ints, so registrations can be stored as
+ * RoaringBitmaps and every ID string is held once, however many events it is registered for.
+ * It is seeded from the Students sheet in sheet order, so those students get the smallest ints.
+ * IDs that are not in the sheet, e.g. names typed into the event form, get the next free int
+ * when first seen. Entries are never removed, which keeps every int ever handed out valid.
+ * Thread-safe; lookups take no lock.
+ */
+final class StudentDictionary {
+    private static final StudentDictionary GLOBAL = new StudentDictionary();
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    /*
+     * Names by int. A slot is written before its int is published through idsByName, and a reader
+     * can only hold an int it got from idsByName or from a bitmap filled by a thread that did, so
+     * a reader always sees the name.
+     */
+    private volatile String[] names = new String[256];
+    // Guarded by this
+    private int size;
+
+    static StudentDictionary global() {
+        return GLOBAL;
+    }
+
+    // The int for a student ID, assigning the next free one if the ID is new
+    int intern(String studentId) {
+        Integer id = idsByName.get(studentId);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = idsByName.get(studentId);
+            if (id != null) {
+                return id;
+            }
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = studentId;
+            names = current;
+            idsByName.put(studentId, size);
+            return size++;
+        }
+    }
+
+    // The int for a student ID, or -1 if it was never interned
+    int lookup(String studentId) {
+        Integer id = idsByName.get(studentId);
+        return id == null ? -1 : id;
+    }
+
+    String name(int id) {
+        return names[id];
+    }
+
+    // A bitmap of the ints for these student IDs; null stands for no students
+    RoaringBitmap internAll(Iterable<String> studentIds) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        if (studentIds != null) {
+            for (String studentId : studentIds) {
+                bitmap.add(intern(studentId));
+            }
+        }
+        return bitmap;
+    }
+
+    // The student IDs of a bitmap's ints, in int order
+    List<String> names(RoaringBitmap bitmap) {
+        List<String> studentIds = new ArrayList<>(bitmap.cardinality());
+        String[] current = names;
+        bitmap.forEach(id -> studentIds.add(current[id]));
+        return studentIds;
+    }
+
+    int size() {
+        return idsByName.size();
+    }
+}
@@ -8,20 +8,17 @@ import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class UniversityManagementProject extends Application {
 
-    // Maps to store user credentials
-    private static final Map<String, String> studentCredentials = new HashMap<>();
-    private static final Map<String, String> facultyCredentials = new HashMap<>();
+    // Maps to store user credentials (package-private so benchmarks can query them).
+    // Concurrent because WorkbookReloader updates them while logins read them.
+    static final Map<String, String> studentCredentials = new ConcurrentHashMap<>();
+    static final Map<String, String> facultyCredentials = new ConcurrentHashMap<>();
 
     // Hardcoded ADMIN credentials
     private static final String ADMIN_USERNAME = "admin";
@@ -30,6 +27,8 @@ public class UniversityManagementProject extends Application {
     public static void main(String[] args) {
         // Load data from Excel file
         loadUserData();
+        // Pick up edits made to the workbook in Excel while the application runs
+        watchUserData();
         // Launch the JavaFX application
         launch(args);
     }
@@ -78,9 +77,15 @@ public class UniversityManagementProject extends Application {
             System.out.println("username: " + username);
             System.out.println("password: " + password);
 
+            JfrEvents.LoginCheck loginCheck = new JfrEvents.LoginCheck();
+            loginCheck.begin();
+            // Each map is read once, since WorkbookReloader can remove an ID while this runs
+            String studentPassword = studentCredentials.get(username);
+            String facultyPassword = facultyCredentials.get(username);
+
             // Check ADMIN credentials
             if (username.equals(ADMIN_USERNAME)) {
-                if (password.equals(ADMIN_PASSWORD)) {
+                if (recordLoginCheck(loginCheck, username, "ADMIN", password.equals(ADMIN_PASSWORD))) {
                     statusLabel.setText("Login successful! Welcome ADMIN.");
                     showAdminDashboard(username, "ADMIN");
                 } else {
@@ -88,8 +93,8 @@ public class UniversityManagementProject extends Application {
                 }
             }
             // Check student credentials
-            else if (studentCredentials.containsKey(username)) {
-                if (studentCredentials.get(username).equals(password)) {
+            else if (studentPassword != null) {
+                if (recordLoginCheck(loginCheck, username, "Student", password.equals(studentPassword))) {
                     statusLabel.setText("Login successful! Welcome Student: " + username);
                     showStudentDashboard(username, "Student");
                 } else {
@@ -97,8 +102,8 @@ public class UniversityManagementProject extends Application {
                 }
             }
             // Check faculty credentials
-            else if (facultyCredentials.containsKey(username)) {
-                if (facultyCredentials.get(username).equals(password)) {
+            else if (facultyPassword != null) {
+                if (recordLoginCheck(loginCheck, username, "Faculty", password.equals(facultyPassword))) {
                     statusLabel.setText("Login successful! Welcome Faculty: " + username);
                     showFacultyDashboard(username, "Faculty");
                 } else {
@@ -107,6 +112,7 @@ public class UniversityManagementProject extends Application {
             }
             // Invalid username
             else {
+                recordLoginCheck(loginCheck, username, "unknown", false);
                 statusLabel.setText("Invalid username.");
             }
         });
@@ -117,49 +123,40 @@ public class UniversityManagementProject extends Application {
         primaryStage.show();
     }
 
+    // Commits the JFR event for a credential check and passes its result through
+    private static boolean recordLoginCheck(JfrEvents.LoginCheck loginCheck, String username, String role, boolean succeeded) {
+        if (loginCheck.shouldCommit()) {
+            loginCheck.username = username;
+            loginCheck.role = role;
+            loginCheck.succeeded = succeeded;
+            loginCheck.commit();
+        }
+        return succeeded;
+    }
+
     // Method to load user data from Excel file
     private static void loadUserData() {
-        try (FileInputStream file = new FileInputStream("UMS_Data.xlsx")) {
-            Workbook workbook = new XSSFWorkbook(file);
-
-            // Load student credentials
-            Sheet studentSheet = workbook.getSheetAt(2); // Students sheet (index 2)
-            for (Row row : studentSheet) {
-                if (row.getRowNum() == 0) continue; // Skip header row
-
-                // Check if cells exist before accessing them
-                Cell studentIDCell = row.getCell(0);
-                Cell passwordCell = row.getCell(11);
-
-                if (studentIDCell != null && passwordCell != null) {
-                    String studentID = studentIDCell.getStringCellValue();
-                    String password = passwordCell.getStringCellValue();
-                    studentCredentials.put(studentID, password);
-                }
-            }
-
-            // Load faculty credentials
-            Sheet facultySheet = workbook.getSheetAt(3); // Faculties sheet (index 3)
-            for (Row row : facultySheet) {
-                if (row.getRowNum() == 0) continue; // Skip header row
-
-                // Check if cells exist before accessing them
-                Cell facultyIDCell = row.getCell(0);
-                Cell passwordCell = row.getCell(7);
-
-                if (facultyIDCell != null && passwordCell != null) {
-                    String facultyID = facultyIDCell.getStringCellValue();
-                    String password = passwordCell.getStringCellValue();
-                    facultyCredentials.put(facultyID, password);
-                }
-            }
+        loadUserData("UMS_Data.xlsx");
+    }
 
-            workbook.close();
+    // Loads credentials from the given workbook, or from its binary snapshot when that is current
+    static void loadUserData(String filePath) {
+        try {
+            new ExcelDataManager(filePath, ExcelDataManager.ReadMode.SNAPSHOT)
+                    .readCredentials(studentCredentials, facultyCredentials);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    private static void watchUserData() {
+        try {
+            WorkbookReloader.start("UMS_Data.xlsx", studentCredentials, facultyCredentials);
+        } catch (IOException e) {
+            System.out.println("Cannot watch UMS_Data.xlsx for changes: " + e.getMessage());
+        }
+    }
+
     // Method to show ADMIN dashboard
     private void showAdminDashboard(String username, String role) {
         Stage adminStage = new Stage();
@@ -0,0 +1,41 @@
+package com.example.universitymanagementproject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Intern pool for one column of repeating string values, such as event locations.
+ * Events parsed from different rows with the same location then share one String instead of
+ * each keeping the copy its row was parsed into. Unlike String.intern the pool is bounded: once it
+ * holds maxSize values, new values are returned as they are. A column that turns out to be mostly
+ * distinct then stops growing the pool rather than pinning every value in memory.
+ * Thread-safe.
+ */
+final class ValuePool {
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    ValuePool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // The pooled instance equal to value, or value itself if it is new and the pool is full
+    String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = values.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        pooled = values.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.universitymanagementproject;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Process-wide cache of parsed sheet data, used for the small sheets that are read repeatedly,
+ * such as the credential sheets read at every login.
+ * Sheets are parsed once with SAX into rows of cell strings (header row excluded) and reused
+ * until the workbook's modification time or size changes on disk. Rows are held through soft
+ * references, so the collector can drop them under memory pressure and they are parsed again on
+ * the next request. Sheets read once, such as the events sheet, are passed row by row to a
+ * RowHandler with streamSheets instead, which does not cache and holds one row at a time.
+ * Sheets requested together are parsed concurrently on the common fork-join pool, one task per
+ * sheet part.
+ * Cell strings are formatted like ExcelDataManager.getCellValueAsString: whole numbers without
+ * a decimal point and dates as yyyy-MM-dd HH:mm.
+ */
+public final class WorkbookCache {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final Map<Path, CachedWorkbook> workbooks = new ConcurrentHashMap<>();
+
+    private WorkbookCache() {
+    }
+
+    /**
+     * Receives the rows of a sheet as they are parsed, header row excluded. Each handler is called
+     * from one thread at a time, though handlers of different sheets may run concurrently.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param rowNumber the row's number in Excel, where the header is row 1
+         * @param cells the row's cell strings, blank cells as ""; owned by the handler
+         */
+        void row(int rowNumber, String[] cells);
+    }
+
+    // Parsed sheets of one workbook, valid for one (mtime, size) stamp
+    private static class CachedWorkbook {
+        final long lastModified;
+        final long size;
+        final Map<Integer, SoftReference<List<String[]>>> sheets = new HashMap<>();
+
+        CachedWorkbook(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+
+    public static List<String[]> getSheet(String filePath, int sheetIndex) throws IOException {
+        return getSheets(filePath, sheetIndex).get(sheetIndex);
+    }
+
+    /**
+     * Returns the rows of the requested sheets, parsing any that are not cached from a single open of the package.
+     * A sheet index that does not exist maps to an empty list.
+     */
+    public static Map<Integer, List<String[]>> getSheets(String filePath, int... sheetIndexes) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+
+        CachedWorkbook workbook = workbooks.compute(path, (key, cached) ->
+                cached != null && cached.lastModified == lastModified && cached.size == size
+                        ? cached : new CachedWorkbook(lastModified, size));
+
+        synchronized (workbook) {
+            // Cached sheets are held strongly from here on, so the collector cannot clear them before we return
+            Map<Integer, List<String[]>> result = new HashMap<>();
+            List<Integer> missing = new ArrayList<>();
+            for (int index : sheetIndexes) {
+                SoftReference<List<String[]>> cached = workbook.sheets.get(index);
+                List<String[]> rows = cached == null ? null : cached.get();
+                if (rows != null) {
+                    result.put(index, rows);
+                } else {
+                    missing.add(index);
+                }
+            }
+            if (!missing.isEmpty()) {
+                for (Map.Entry<Integer, List<String[]>> parsed : parseSheets(path, missing).entrySet()) {
+                    workbook.sheets.put(parsed.getKey(), new SoftReference<>(parsed.getValue()));
+                    result.put(parsed.getKey(), parsed.getValue());
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Parses the sheets of the handlers' indexes from a single open of the package, passing each
+     * row to its sheet's handler as soon as it is parsed. Nothing is cached. A handler whose sheet
+     * does not exist receives no rows.
+     */
+    public static void streamSheets(String filePath, Map<Integer, RowHandler> handlers) throws IOException {
+        streamSheets(Paths.get(filePath).toAbsolutePath().normalize(), handlers);
+    }
+
+    /**
+     * Returns a fingerprint of each requested sheet. It is built from the CRCs in the zip directory,
+     * so nothing is inflated or parsed. A fingerprint changes when the sheet's part changes. It also
+     * changes when the shared strings or styles change, because those decide the sheet's cell strings
+     * too. A sheet index that does not exist maps to 0.
+     */
+    public static Map<Integer, Long> getSheetFingerprints(String filePath, int... sheetIndexes) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        Map<Integer, String> sheetEntries = new HashMap<>();
+        List<String> sharedEntries = new ArrayList<>();
+        try (OPCPackage pkg = OPCPackage.open(path.toString(), PackageAccess.READ)) {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            for (int index = 0; sheets.hasNext(); index++) {
+                sheets.next().close();
+                sheetEntries.put(index, zipEntryName(sheets.getSheetPart()));
+            }
+            for (String contentType : List.of(XSSFRelation.SHARED_STRINGS.getContentType(), XSSFRelation.STYLES.getContentType())) {
+                for (PackagePart part : pkg.getPartsByContentType(contentType)) {
+                    sharedEntries.add(zipEntryName(part));
+                }
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException("cannot read " + path, e);
+        }
+
+        Map<Integer, Long> fingerprints = new HashMap<>();
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            long shared = 17;
+            for (String entry : sharedEntries) {
+                shared = shared * 31 + crc(zip, entry);
+            }
+            for (int index : sheetIndexes) {
+                String entry = sheetEntries.get(index);
+                fingerprints.put(index, entry == null ? 0 : shared * 31 + crc(zip, entry));
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Returns a fingerprint of the whole package, built from the name and CRC of every zip entry.
+     * Only the zip directory is read, so nothing is inflated. Any change to any part changes it.
+     */
+    public static long getPackageFingerprint(String filePath) throws IOException {
+        long fingerprint = 17;
+        try (ZipFile zip = new ZipFile(Paths.get(filePath).toFile())) {
+            for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                ZipEntry entry = entries.nextElement();
+                fingerprint = (fingerprint * 31 + entry.getName().hashCode()) * 31 + entry.getCrc();
+            }
+        }
+        return fingerprint;
+    }
+
+    private static String zipEntryName(PackagePart part) {
+        // Part names are absolute within the package; zip entry names have no leading slash
+        return part.getPartName().getName().substring(1);
+    }
+
+    private static long crc(ZipFile zip, String entryName) {
+        ZipEntry entry = zip.getEntry(entryName);
+        return entry == null ? -1 : entry.getCrc();
+    }
+
+    // Drops everything cached for the workbook, e.g. after this process rewrote it
+    public static void invalidate(String filePath) {
+        workbooks.remove(Paths.get(filePath).toAbsolutePath().normalize());
+    }
+
+    // Cell value at the given column, or "" if the row is shorter
+    public static String cell(String[] row, int col) {
+        return col < row.length ? row[col] : "";
+    }
+
+    private static Map<Integer, List<String[]>> parseSheets(Path path, List<Integer> sheetIndexes) throws IOException {
+        Map<Integer, List<String[]>> parsed = new HashMap<>();
+        Map<Integer, RowHandler> handlers = new HashMap<>();
+        for (int index : sheetIndexes) {
+            List<String[]> rows = new ArrayList<>();
+            parsed.put(index, Collections.unmodifiableList(rows));
+            handlers.put(index, (rowNumber, cells) -> rows.add(cells));
+        }
+        // The lists are filled by the parse tasks, whose completion is awaited before this returns
+        streamSheets(path, handlers);
+        return parsed;
+    }
+
+    private static void streamSheets(Path path, Map<Integer, RowHandler> handlers) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(path.toString(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            // Shared strings and styles are only read while parsing, so the tasks share them
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Map<Integer, InputStream> streams = new HashMap<>();
+            try {
+                // Sheet parts come back in workbook order, so the position is the sheet index
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                for (int index = 0; sheets.hasNext(); index++) {
+                    InputStream sheet = sheets.next();
+                    if (handlers.containsKey(index)) {
+                        streams.put(index, sheet);
+                    } else {
+                        sheet.close();
+                    }
+                }
+
+                // Each part has its own zip entry stream, so the parts inflate and parse independently
+                List<Integer> indexes = new ArrayList<>(streams.keySet());
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int index : indexes) {
+                    InputStream sheet = streams.get(index);
+                    RowHandler handler = handlers.get(index);
+                    tasks.add(() -> {
+                        parseSheet(sheet, styles, strings, handler);
+                        return null;
+                    });
+                }
+                for (Future<Void> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                    result.get();
+                }
+            } finally {
+                for (InputStream sheet : streams.values()) {
+                    sheet.close();
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("cannot parse " + path, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while parsing " + path, e);
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("cannot parse " + path, e);
+        }
+    }
+
+    private static void parseSheet(InputStream sheet, StylesTable styles, ReadOnlySharedStringsTable strings,
+                                   RowHandler handler) throws IOException, SAXException, ParserConfigurationException {
+        XMLReader parser = XMLHelper.newXMLReader();
+        // The formatter keeps per-instance state, so every task gets its own
+        parser.setContentHandler(new XSSFSheetXMLHandler(
+                styles, null, strings, new RowReader(handler), new CellFormatter(), false));
+        parser.parse(new InputSource(sheet));
+    }
+
+    // Passes every row after the header to the handler as an array of cell strings
+    private static class RowReader implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private String[] values = new String[16];
+        private int currentRow;
+        private int currentCol;
+        private int width;
+
+        RowReader(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = rowNum;
+            currentCol = -1;
+            width = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Some writers omit the cell reference; fall back to the next column
+            currentCol = cellReference == null ? currentCol + 1 : new CellReference(cellReference).getCol();
+            if (currentCol >= values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, currentCol + 1));
+            }
+            // Fill skipped (blank) cells
+            while (width < currentCol) {
+                values[width++] = "";
+            }
+            values[currentCol] = formattedValue == null ? "" : formattedValue;
+            width = currentCol + 1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (currentRow == 0) return;
+            handler.row(currentRow + 1, Arrays.copyOf(values, width));
+        }
+    }
+
+    // Formats numbers and dates the same way ExcelDataManager.getCellValueAsString does
+    private static class CellFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).format(DATE_TIME_FORMATTER);
+            }
+            // Avoid scientific notation
+            if (value == Math.floor(value) && !Double.isInfinite(value)) {
+                return String.valueOf((long) value);
+            }
+            return String.valueOf(value);
+        }
+    }
+}
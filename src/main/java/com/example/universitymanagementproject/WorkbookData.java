@@ -0,0 +1,110 @@
+package com.example.universitymanagementproject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything in UMS_Data.xlsx, loaded from one open of the package.
+ * The five sheets are parsed concurrently by WorkbookCache, so loading takes about as long as the
+ * largest sheet. Events are decoded as their rows are parsed; only the rows of the other, small
+ * sheets are kept. Lists and maps are unmodifiable; the events are fresh copies owned by the caller.
+ */
+public final class WorkbookData {
+    private final List<List<String>> subjects;
+    private final List<List<String>> courses;
+    private final Map<String, String> studentCredentials;
+    private final Map<String, String> facultyCredentials;
+    private final List<Event> events;
+    private final EventReadReport eventReadReport;
+
+    private WorkbookData(List<List<String>> subjects, List<List<String>> courses, Map<String, String> studentCredentials,
+                         Map<String, String> facultyCredentials, List<Event> events, EventReadReport eventReadReport) {
+        this.subjects = subjects;
+        this.courses = courses;
+        this.studentCredentials = studentCredentials;
+        this.facultyCredentials = facultyCredentials;
+        this.events = events;
+        this.eventReadReport = eventReadReport;
+    }
+
+    public static WorkbookData load(String filePath) throws IOException {
+        // Read once per load, so the rows are not kept in the cache
+        Map<Integer, List<String[]>> sheets = new HashMap<>();
+        Map<Integer, WorkbookCache.RowHandler> handlers = new HashMap<>();
+        for (int index : new int[]{ExcelDataManager.SUBJECT_SHEET_INDEX, ExcelDataManager.COURSE_SHEET_INDEX,
+                ExcelDataManager.STUDENT_SHEET_INDEX, ExcelDataManager.FACULTY_SHEET_INDEX}) {
+            List<String[]> rows = new ArrayList<>();
+            sheets.put(index, rows);
+            handlers.put(index, (rowNumber, cells) -> rows.add(cells));
+        }
+        EventReadReport eventReadReport = new EventReadReport();
+        List<Event> events = new ArrayList<>();
+        handlers.put(ExcelDataManager.EVENT_SHEET_INDEX,
+                new ExcelDataManager(filePath, ExcelDataManager.ReadMode.STREAMING).eventDecoder(events, eventReadReport));
+        WorkbookCache.streamSheets(filePath, handlers);
+
+        ExcelDataManager.internStudentIds(sheets.get(ExcelDataManager.STUDENT_SHEET_INDEX));
+        Map<String, String> students = new HashMap<>();
+        ExcelDataManager.collectCredentials(sheets.get(ExcelDataManager.STUDENT_SHEET_INDEX),
+                ExcelDataManager.STUDENT_PASSWORD_COLUMN, students);
+        Map<String, String> faculties = new HashMap<>();
+        ExcelDataManager.collectCredentials(sheets.get(ExcelDataManager.FACULTY_SHEET_INDEX),
+                ExcelDataManager.FACULTY_PASSWORD_COLUMN, faculties);
+
+        return new WorkbookData(rows(sheets.get(ExcelDataManager.SUBJECT_SHEET_INDEX)),
+                rows(sheets.get(ExcelDataManager.COURSE_SHEET_INDEX)),
+                Collections.unmodifiableMap(students), Collections.unmodifiableMap(faculties),
+                Collections.unmodifiableList(events), eventReadReport);
+    }
+
+    // Parsed rows are never modified, so they can be wrapped instead of copied
+    private static List<List<String>> rows(List<String[]> sheet) {
+        List<List<String>> rows = new ArrayList<>(sheet.size());
+        for (String[] row : sheet) {
+            rows.add(Collections.unmodifiableList(Arrays.asList(row)));
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    // Subjects sheet rows without the header: Subject Code, Subject Name
+    public List<List<String>> getSubjects() {
+        return subjects;
+    }
+
+    // Courses sheet rows without the header: Course Code, Course Name, Subject Code, Section Number, ...
+    public List<List<String>> getCourses() {
+        return courses;
+    }
+
+    public Map<String, String> getStudentCredentials() {
+        return studentCredentials;
+    }
+
+    public Map<String, String> getFacultyCredentials() {
+        return facultyCredentials;
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    // Invalid cells found while decoding the events sheet
+    public EventReadReport getEventReadReport() {
+        return eventReadReport;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String filePath = args.length > 0 ? args[0] : "UMS_Data.xlsx";
+        long start = System.nanoTime();
+        WorkbookData data = load(filePath);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("loaded " + data.getSubjects().size() + " subjects, " + data.getCourses().size() + " courses, "
+                + data.getStudentCredentials().size() + " students, " + data.getFacultyCredentials().size() + " faculties and "
+                + data.getEvents().size() + " events in " + elapsedMs + " ms");
+    }
+}
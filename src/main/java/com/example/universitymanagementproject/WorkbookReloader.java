@@ -0,0 +1,186 @@
+package com.example.universitymanagementproject;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies edits made to the workbook outside the application while it runs, e.g. by an admin in Excel.
+ * A WatchService on the workbook's directory reports writes to it. Saving produces a burst of them
+ * (Excel writes a temporary file and renames it), and each burst is debounced into one reload.
+ * A reload compares sheet fingerprints and re-reads only the sheets that changed. It then applies
+ * keyed diffs: credentials by student or faculty ID, and events by code through
+ * EventService.applyWorkbookChanges, so open dashboards update in place instead of reloading.
+ * Writes made by this process are reported too; their reload finds nothing to apply.
+ */
+public final class WorkbookReloader implements AutoCloseable {
+    private static final long DEBOUNCE_MS = 500;
+    private static final int[] WATCHED_SHEETS = {ExcelDataManager.STUDENT_SHEET_INDEX,
+            ExcelDataManager.FACULTY_SHEET_INDEX, ExcelDataManager.EVENT_SHEET_INDEX};
+
+    private final Path workbook;
+    private final Map<String, String> studentCredentials;
+    private final Map<String, String> facultyCredentials;
+    private final WatchService watchService;
+    private final ScheduledExecutorService scheduler;
+    private final Thread watcher;
+    // Fingerprints of the sheets as last applied. Used on the scheduler thread only.
+    private Map<Integer, Long> fingerprints;
+    // Used on the watcher thread only
+    private ScheduledFuture<?> pendingReload;
+
+    private WorkbookReloader(Path workbook, Map<String, String> studentCredentials,
+                             Map<String, String> facultyCredentials) throws IOException {
+        this.workbook = workbook;
+        this.studentCredentials = studentCredentials;
+        this.facultyCredentials = facultyCredentials;
+        this.fingerprints = WorkbookCache.getSheetFingerprints(workbook.toString(), WATCHED_SHEETS);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        workbook.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "workbook-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watcher = new Thread(this::watch, "workbook-watcher");
+        this.watcher.setDaemon(true);
+    }
+
+    /**
+     * Starts watching the workbook, taking its current content as already loaded.
+     * The credential maps are updated on the reload thread while logins read them, so they must
+     * be safe for concurrent use.
+     * @throws IOException if the workbook cannot be read or its directory cannot be watched
+     */
+    public static WorkbookReloader start(String filePath, Map<String, String> studentCredentials,
+                                         Map<String, String> facultyCredentials) throws IOException {
+        WorkbookReloader reloader = new WorkbookReloader(Paths.get(filePath).toAbsolutePath().normalize(),
+                studentCredentials, facultyCredentials);
+        reloader.watcher.start();
+        return reloader;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        scheduler.shutdownNow();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // After an overflow the workbook's own event may be among those lost
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || workbook.getFileName().equals(event.context())) {
+                        scheduleReload();
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    // Each write pushes the reload back, so it runs once the burst is over
+    private void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = scheduler.schedule(this::reload, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    void reload() {
+        String filePath = workbook.toString();
+        try {
+            Map<Integer, Long> latest = WorkbookCache.getSheetFingerprints(filePath, WATCHED_SHEETS);
+            List<Integer> changed = new ArrayList<>();
+            for (int sheet : WATCHED_SHEETS) {
+                if (!Objects.equals(latest.get(sheet), fingerprints.get(sheet))) {
+                    changed.add(sheet);
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+
+            // Credential sheets are small and kept whole; events are decoded as their rows are parsed
+            Map<Integer, List<String[]>> sheets = new HashMap<>();
+            Map<Integer, WorkbookCache.RowHandler> handlers = new HashMap<>();
+            for (int sheet : new int[]{ExcelDataManager.STUDENT_SHEET_INDEX, ExcelDataManager.FACULTY_SHEET_INDEX}) {
+                if (changed.contains(sheet)) {
+                    List<String[]> rows = new ArrayList<>();
+                    sheets.put(sheet, rows);
+                    handlers.put(sheet, (rowNumber, cells) -> rows.add(cells));
+                }
+            }
+            // A service that was not created yet will read the new events when it is
+            EventService eventService = EventService.getSharedIfCreated();
+            List<Event> events = null;
+            if (changed.contains(ExcelDataManager.EVENT_SHEET_INDEX) && eventService != null
+                    && eventService.isBackedBy(filePath)) {
+                events = new ArrayList<>();
+                handlers.put(ExcelDataManager.EVENT_SHEET_INDEX, new ExcelDataManager(filePath,
+                        ExcelDataManager.ReadMode.STREAMING).eventDecoder(events, new EventReadReport()));
+            }
+            WorkbookCache.streamSheets(filePath, handlers);
+
+            int changes = 0;
+            if (changed.contains(ExcelDataManager.STUDENT_SHEET_INDEX)) {
+                List<String[]> rows = sheets.get(ExcelDataManager.STUDENT_SHEET_INDEX);
+                ExcelDataManager.internStudentIds(rows);
+                changes += applyCredentials(rows, ExcelDataManager.STUDENT_PASSWORD_COLUMN, studentCredentials);
+            }
+            if (changed.contains(ExcelDataManager.FACULTY_SHEET_INDEX)) {
+                changes += applyCredentials(sheets.get(ExcelDataManager.FACULTY_SHEET_INDEX),
+                        ExcelDataManager.FACULTY_PASSWORD_COLUMN, facultyCredentials);
+            }
+            if (events != null) {
+                changes += eventService.applyWorkbookChanges(events);
+            }
+            fingerprints = latest;
+            System.out.println("reloaded " + changed.size() + " changed sheets of " + workbook.getFileName()
+                    + ", applied " + changes + " changes");
+        } catch (IOException | RuntimeException e) {
+            // Usually the file is still being written; the write that completes it schedules another reload
+            System.out.println("failed to reload " + workbook.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    // Makes the credentials match the sheet: removes IDs no longer listed, adds new ones, updates changed passwords
+    private static int applyCredentials(List<String[]> rows, int passwordColumn, Map<String, String> credentials) {
+        Map<String, String> latest = new HashMap<>();
+        ExcelDataManager.collectCredentials(rows, passwordColumn, latest);
+        int changes = 0;
+        for (Iterator<String> ids = credentials.keySet().iterator(); ids.hasNext(); ) {
+            if (!latest.containsKey(ids.next())) {
+                ids.remove();
+                changes++;
+            }
+        }
+        for (Map.Entry<String, String> entry : latest.entrySet()) {
+            if (!entry.getValue().equals(credentials.put(entry.getKey(), entry.getValue()))) {
+                changes++;
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.universitymanagementproject;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the event catalogue and login credentials, kept next to the workbook
+ * (UMS_Data.xlsx -> UMS_Data.snapshot) so startup does not have to unzip and parse the XLSX.
+ * A snapshot records the Stamp of the workbook it was taken from and is only used while the
+ * workbook still has that stamp; editing the workbook by hand makes it stale and the next Excel
+ * read replaces it.
+ *
+ * Layout (big-endian; strings are an int byte length followed by UTF-8 bytes, -1 for null):
+ *   int magic, int version
+ *   long workbook size, long workbook modification time (ms), long workbook fingerprint
+ *   int studentCount, then id/password string pairs
+ *   int facultyCount, then id/password string pairs
+ *   int locationCount, then location strings
+ *   int registeredIdCount, then student id strings
+ *   int eventCount, then per event: code, name, description, headerImagePath,
+ *       int location index, int epoch minute (UTC), int capacity, double cost,
+ *       int registrationCount, student id indexes
+ * Locations and registered student ids are pooled: each distinct value is stored and decoded once
+ * and events refer to it by index, so loading shares one String per value.
+ */
+public final class WorkbookSnapshot {
+    private static final int MAGIC = 0x554D5353; // "UMSS"
+    private static final int VERSION = 2;
+
+    private WorkbookSnapshot() {
+    }
+
+    /**
+     * What a snapshot knows about its workbook: size, modification time and the fingerprint of its
+     * zip directory's CRCs. The CRCs catch an edit that keeps size and time, such as a save within
+     * the same tick of a coarse filesystem clock.
+     */
+    public static final class Stamp {
+        private final long size;
+        private final long lastModified;
+        private final long fingerprint;
+
+        private Stamp(long size, long lastModified, long fingerprint) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fingerprint = fingerprint;
+        }
+
+        // The workbook's stamp as it is on disk now
+        public static Stamp of(String workbookPath) throws IOException {
+            Path workbook = Paths.get(workbookPath);
+            return new Stamp(Files.size(workbook), Files.getLastModifiedTime(workbook).toMillis(),
+                    WorkbookCache.getPackageFingerprint(workbookPath));
+        }
+
+        boolean matches(Stamp other) {
+            return size == other.size && lastModified == other.lastModified && fingerprint == other.fingerprint;
+        }
+    }
+
+    // Snapshot file kept next to the given workbook
+    public static Path pathFor(String workbookPath) {
+        String basePath = workbookPath.endsWith(".xlsx") ? workbookPath.substring(0, workbookPath.length() - 5) : workbookPath;
+        return Paths.get(basePath + ".snapshot");
+    }
+
+    // True if a snapshot exists and was taken from the workbook as it is now
+    public static boolean isCurrent(String workbookPath) throws IOException {
+        return openCurrent(workbookPath) != null;
+    }
+
+    // A reader positioned after the header of the current snapshot, or null if there is none
+    private static Reader openCurrent(String workbookPath) throws IOException {
+        Path snapshot = pathFor(workbookPath);
+        if (!Files.exists(snapshot) || !Files.exists(Paths.get(workbookPath))) {
+            return null;
+        }
+        Reader reader;
+        try {
+            reader = new Reader(map(snapshot));
+        } catch (RuntimeException e) {
+            System.out.println("ignored unreadable snapshot " + snapshot + ": " + e);
+            return null;
+        }
+        return reader.stamp.matches(Stamp.of(workbookPath)) ? reader : null;
+    }
+
+    /**
+     * Reads the credentials section only.
+     * @return false if there is no current snapshot, in which case the maps are left untouched
+     */
+    public static boolean readCredentials(String workbookPath, Map<String, String> students, Map<String, String> faculties) throws IOException {
+        Reader reader = openCurrent(workbookPath);
+        if (reader == null) {
+            return false;
+        }
+        try {
+            Map<String, String> readStudents = reader.readCredentials();
+            Map<String, String> readFaculties = reader.readCredentials();
+            students.putAll(readStudents);
+            faculties.putAll(readFaculties);
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("ignored unreadable snapshot " + pathFor(workbookPath) + ": " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads the event catalogue.
+     * @return the events, or null if there is no current snapshot
+     */
+    public static List<Event> readEvents(String workbookPath) throws IOException {
+        Reader reader = openCurrent(workbookPath);
+        if (reader == null) {
+            return null;
+        }
+        try {
+            reader.readCredentials();
+            reader.readCredentials();
+            return reader.readEvents();
+        } catch (RuntimeException e) {
+            System.out.println("ignored unreadable snapshot " + pathFor(workbookPath) + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot for the workbook. The file is replaced atomically.
+     * @param stamp the workbook's stamp when the events and credentials were read from it, or null
+     *              if they have just been written to it, in which case its current stamp is used
+     */
+    public static void write(String workbookPath, Stamp stamp, List<Event> events, Map<String, String> students,
+                             Map<String, String> faculties) throws IOException {
+        if (stamp == null) {
+            stamp = Stamp.of(workbookPath);
+        }
+        Path snapshot = pathFor(workbookPath).toAbsolutePath();
+        Path temp = Files.createTempFile(snapshot.getParent(), "snapshot", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(stamp.size);
+                out.writeLong(stamp.lastModified);
+                out.writeLong(stamp.fingerprint);
+                writeCredentials(out, students);
+                writeCredentials(out, faculties);
+
+                Map<String, Integer> locations = new LinkedHashMap<>();
+                Map<String, Integer> studentIds = new LinkedHashMap<>();
+                List<List<String>> registrations = new ArrayList<>(events.size());
+                for (Event event : events) {
+                    locations.putIfAbsent(event.getLocation(), locations.size());
+                    List<String> registered = event.getRegisteredStudents();
+                    for (String studentId : registered) {
+                        studentIds.putIfAbsent(studentId, studentIds.size());
+                    }
+                    registrations.add(registered);
+                }
+                writePool(out, locations);
+                writePool(out, studentIds);
+
+                out.writeInt(events.size());
+                for (int i = 0; i < events.size(); i++) {
+                    Event event = events.get(i);
+                    writeString(out, event.getEventCode());
+                    writeString(out, event.getEventName());
+                    writeString(out, event.getDescription());
+                    writeString(out, event.getHeaderImagePath());
+                    out.writeInt(locations.get(event.getLocation()));
+                    out.writeInt(Math.toIntExact(event.getEpochMinute()));
+                    out.writeInt(event.getCapacity());
+                    out.writeDouble(event.getCost());
+                    // The list copied above, so the count matches the pooled ids even if registrations changed since
+                    List<String> registered = registrations.get(i);
+                    out.writeInt(registered.size());
+                    for (String studentId : registered) {
+                        out.writeInt(studentIds.get(studentId));
+                    }
+                }
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeCredentials(DataOutputStream out, Map<String, String> credentials) throws IOException {
+        out.writeInt(credentials.size());
+        for (Map.Entry<String, String> entry : credentials.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    // Pool values in index order
+    private static void writePool(DataOutputStream out, Map<String, Integer> pool) throws IOException {
+        out.writeInt(pool.size());
+        for (String value : pool.keySet()) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // The mapping stays valid after the channel is closed and is released with the buffer
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    // Sequential decoder over the mapped file; a truncated or foreign file fails with a RuntimeException
+    private static class Reader {
+        private final MappedByteBuffer buffer;
+        final Stamp stamp;
+        private byte[] scratch = new byte[256];
+
+        Reader(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("not a snapshot file");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("unsupported snapshot version " + version);
+            }
+            stamp = new Stamp(buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+
+        Map<String, String> readCredentials() {
+            int count = buffer.getInt();
+            Map<String, String> credentials = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                credentials.put(readString(), readString());
+            }
+            return credentials;
+        }
+
+        List<Event> readEvents() {
+            String[] locations = readPool();
+            String[] studentIds = readPool();
+
+            int count = buffer.getInt();
+            List<Event> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String eventCode = readString();
+                String eventName = readString();
+                String description = readString();
+                String headerImagePath = readString();
+                String location = locations[buffer.getInt()];
+                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(buffer.getInt() * 60L, 0, ZoneOffset.UTC);
+                int capacity = buffer.getInt();
+                double cost = buffer.getDouble();
+
+                int registrations = buffer.getInt();
+                List<String> registered = new ArrayList<>(registrations);
+                for (int r = 0; r < registrations; r++) {
+                    registered.add(studentIds[buffer.getInt()]);
+                }
+
+                Event event = new Event(eventName, eventCode, description, headerImagePath, location, dateTime, capacity, cost);
+                event.setRegisteredStudents(registered);
+                events.add(event);
+            }
+            return events;
+        }
+
+        private String[] readPool() {
+            String[] pool = new String[buffer.getInt()];
+            for (int i = 0; i < pool.length; i++) {
+                pool[i] = readString();
+            }
+            return pool;
+        }
+
+        private String readString() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
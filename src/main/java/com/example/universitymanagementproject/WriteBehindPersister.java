@@ -0,0 +1,201 @@
+package com.example.universitymanagementproject;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind persistence for the events sheet.
+ * Mutations only mark an event code as dirty; dirty events are coalesced and written
+ * to Excel in one batch when the flush interval elapses or the batch size is reached.
+ */
+public class WriteBehindPersister implements AutoCloseable {
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 2000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final ExcelDataManager excelDataManager;
+    private final Supplier<List<Event>> snapshot;
+    private final Runnable onFlushed;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+    private Thread shutdownHook;
+
+    /*
+     * Dirty event codes, each with the version of its latest change. Concurrent so marking an event
+     * dirty never blocks registrations on other events. A flush clears only the markers whose
+     * version it wrote, so a change made while it runs stays pending.
+     */
+    private final Map<String, Long> dirtyVersions = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    // Set by the markDirty that fills the batch, so concurrent ones schedule a single early flush
+    private final AtomicBoolean batchFlushScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // Serialises workbook writes so two flushes never overlap
+    private final Object flushLock = new Object();
+
+    private WriteBehindPersister(ExcelDataManager excelDataManager, Supplier<List<Event>> snapshot,
+                                 Runnable onFlushed, int batchSize) {
+        this.excelDataManager = excelDataManager;
+        this.snapshot = snapshot;
+        this.onFlushed = onFlushed;
+        this.batchSize = batchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static WriteBehindPersister start(ExcelDataManager excelDataManager, Supplier<List<Event>> snapshot) {
+        return start(excelDataManager, snapshot, () -> {}, DEFAULT_FLUSH_INTERVAL_MS, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a persister and starts its flush timer and shutdown hook. They are started here
+     * rather than in the constructor so neither can see a partly constructed persister.
+     * @param excelDataManager where batches are written
+     * @param snapshot supplies a consistent copy of the full event list at flush time
+     * @param onFlushed runs after a snapshot has been written successfully
+     * @param flushIntervalMs how often pending changes are written
+     * @param batchSize number of dirty events that triggers an early flush
+     */
+    public static WriteBehindPersister start(ExcelDataManager excelDataManager, Supplier<List<Event>> snapshot,
+                                             Runnable onFlushed, long flushIntervalMs, int batchSize) {
+        WriteBehindPersister persister = new WriteBehindPersister(excelDataManager, snapshot, onFlushed, batchSize);
+        persister.scheduler.scheduleWithFixedDelay(persister::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        persister.shutdownHook = new Thread(persister::close, "event-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(persister.shutdownHook);
+        return persister;
+    }
+
+    /**
+     * Records that an event changed. Must be called after the change is visible to the snapshot supplier.
+     */
+    public void markDirty(String eventCode) {
+        if (closed) {
+            return;
+        }
+        // Two new codes can pass batchSize together, so test >= and let the flag pick one caller
+        if (dirtyVersions.put(eventCode, versions.incrementAndGet()) == null && dirtyVersions.size() >= batchSize
+                && batchFlushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushBatch);
+            } catch (RejectedExecutionException e) {
+                // Closed concurrently; close() writes whatever is still pending
+            }
+        }
+    }
+
+    // Changes marked while this runs wait for the next flush instead of scheduling one each
+    private void flushBatch() {
+        try {
+            flushQuietly();
+        } finally {
+            batchFlushScheduled.set(false);
+        }
+    }
+
+    /**
+     * Schedules a flush on the write-behind thread without waiting for the timer.
+     */
+    public void requestFlush() {
+        if (closed) {
+            return;
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        try {
+            scheduler.execute(this::flushQuietly);
+        } catch (RejectedExecutionException e) {
+            // Closed concurrently; close() writes whatever is still pending
+        }
+    }
+
+    public int getPendingCount() {
+        return dirtyVersions.size();
+    }
+
+    // Whether the event changed since it was last written; see whileNotFlushing
+    public boolean isDirty(String eventCode) {
+        return dirtyVersions.containsKey(eventCode);
+    }
+
+    /**
+     * Runs an action while no flush is in progress, so markers it reads with isDirty stay valid
+     * until it returns. The action must not wait for a flush.
+     */
+    public <T> T whileNotFlushing(Supplier<T> action) {
+        synchronized (flushLock) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Writes all pending changes now. Does nothing if there are none.
+     * @throws IOException if the workbook cannot be written; the changes stay pending
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            Map<String, Long> batch = new HashMap<>(dirtyVersions);
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            // Snapshot after reading the markers, so a change racing with this flush is either in
+            // the snapshot or marked with a newer version, whose marker is kept below
+            excelDataManager.writeEvents(snapshot.get());
+            for (Map.Entry<String, Long> entry : batch.entrySet()) {
+                dirtyVersions.remove(entry.getKey(), entry.getValue());
+            }
+            onFlushed.run();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.out.println("Error writing events to Excel file.");
+        }
+    }
+
+    /**
+     * Stops the timer and writes whatever is still pending.
+     * Concurrent callers (e.g. the shutdown hook) wait until the final flush has finished.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM is already shutting down
+            }
+        }
+    }
+}
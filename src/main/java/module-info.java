@@ -1,4 +1,8 @@
+// The H2 jar has no module descriptor, so it is required as an automatic module
+@SuppressWarnings("requires-automatic")
 module com.example.universitymanagementproject {
+    // Event exposes read-only properties, so clients of this module need javafx.base too
+    requires transitive javafx.base;
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.web;
@@ -11,6 +15,12 @@ module com.example.universitymanagementproject {
     requires eu.hansolo.tilesfx;
     requires com.almasb.fxgl.all;
     requires org.apache.poi.ooxml;
+    requires java.xml;
+    requires jdk.httpserver;
+    requires java.sql;
+    requires java.management;
+    requires jdk.jfr;
+    requires com.h2database;
 
     opens com.example.universitymanagementproject to javafx.fxml;
     exports com.example.universitymanagementproject;
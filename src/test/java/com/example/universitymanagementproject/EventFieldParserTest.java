@@ -0,0 +1,172 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventFieldParserTest {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    // Characters that matter to at least one of the parsers
+    private static final String ALPHABET = "0123456789012345.-+ $,:eEdDfFxFreNa\t￥";
+    private static final int SAMPLES = 50_000;
+
+    @Test
+    void capacityMatchesDoubleParsing() {
+        Random random = new Random(1);
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomText(random, 12);
+            assertEquals(referenceCapacity(text), EventFieldParser.parseCapacity(text), text);
+        }
+        assertEquals(30, EventFieldParser.parseCapacity(" 30.9 "));
+        assertEquals(1500, EventFieldParser.parseCapacity("1.5e3"));
+        assertEquals(Integer.MAX_VALUE, EventFieldParser.parseCapacity("99999999999"));
+        assertEquals(Integer.MIN_VALUE + 1, EventFieldParser.parseCapacity("-99999999999"));
+        assertEquals(EventFieldParser.INVALID_CAPACITY, EventFieldParser.parseCapacity(""));
+        assertEquals(EventFieldParser.INVALID_CAPACITY, EventFieldParser.parseCapacity("thirty"));
+    }
+
+    @Test
+    void costMatchesRegexParsing() {
+        Random random = new Random(2);
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomText(random, 12);
+            assertEquals(referenceCost(text), EventFieldParser.parseCost(text), text);
+        }
+        assertEquals(0.0, EventFieldParser.parseCost("Free"));
+        assertEquals(10.5, EventFieldParser.parseCost("$10.5"));
+        assertEquals(10.0, EventFieldParser.parseCost("10 USD"));
+        assertEquals(10.0, EventFieldParser.parseCost("￥10.0"));
+        assertTrue(Double.isNaN(EventFieldParser.parseCost("1.2.3")));
+        assertTrue(Double.isNaN(EventFieldParser.parseCost("$")));
+    }
+
+    @Test
+    void dateTimeMatchesFormatter() {
+        Random random = new Random(3);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Mostly well-shaped text with random digits, so the range checks are exercised too
+            String text = random.nextInt(4) == 0 ? randomText(random, 18) : String.format("%04d-%02d-%02d %02d:%02d",
+                    random.nextInt(10_000), random.nextInt(14), random.nextInt(33), random.nextInt(26), random.nextInt(62));
+            assertEquals(referenceDateTime(text), EventFieldParser.parseDateTime(text), text);
+        }
+        assertEquals(LocalDateTime.of(2024, 2, 29, 10, 0), EventFieldParser.parseDateTime("2024-02-31 10:00"));
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), EventFieldParser.parseDateTime("2024-02-29 24:00"));
+    }
+
+    @Test
+    void studentIdsMatchSplitAndTrim() {
+        Random random = new Random(4);
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomText(random, 16);
+            assertEquals(referenceStudentIds(text), EventFieldParser.parseStudentIds(text), text);
+        }
+    }
+
+    @Test
+    void malformedRowsLoadWithFallbacksAndAreReported() {
+        List<String[]> rows = List.of(
+                new String[]{"E1", "Concert", "Live music", "Main Hall", "2030-12-01 19:00", "30", "$10.0", "", "alice, bob"},
+                new String[]{"E2", "Talk", "", "Room 1", "next friday", "thirty", "ten dollars"},
+                // Cells missing from the end of the row read as blank
+                new String[]{"E3", "Party"},
+                new String[]{"", "No code", "", "", "2030-12-01 19:00", "10", "Free"});
+        EventReadReport report = new EventReadReport();
+        List<Event> events = new ArrayList<>();
+        WorkbookCache.RowHandler decoder = new ExcelDataManager("unused.xlsx", ExcelDataManager.ReadMode.STREAMING)
+                .eventDecoder(events, report);
+        // Data rows start at row 2, below the header
+        for (int i = 0; i < rows.size(); i++) {
+            decoder.row(i + 2, rows.get(i));
+        }
+
+        assertEquals(3, events.size());
+        Event concert = events.get(0);
+        assertEquals(LocalDateTime.of(2030, 12, 1, 19, 0), concert.getDateTime());
+        assertEquals(30, concert.getCapacity());
+        assertEquals(10.0, concert.getCost());
+        assertEquals("default_header.png", concert.getHeaderImagePath());
+        assertEquals(List.of("alice", "bob"), concert.getRegisteredStudents());
+
+        Event talk = events.get(1);
+        assertEquals(0, talk.getCapacity());
+        assertEquals(0.0, talk.getCost());
+        Event party = events.get(2);
+        assertEquals(0, party.getCapacity());
+        assertEquals(0.0, party.getCost());
+        assertEquals(List.of(), party.getRegisteredStudents());
+
+        List<String> issues = new ArrayList<>();
+        for (EventReadReport.Issue issue : report.getIssues()) {
+            issues.add(issue.getRow() + " " + issue.getColumn());
+        }
+        assertEquals(List.of("3 DateTime", "3 Capacity", "3 Cost", "4 DateTime", "4 Capacity"), issues);
+    }
+
+    private static String randomText(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    // The parsing EventFieldParser replaced, kept here as the reference it must agree with
+
+    private static int referenceCapacity(String text) {
+        try {
+            // The scanner clamps Integer.MIN_VALUE up by one so it stays distinct from INVALID_CAPACITY
+            return Math.max(Integer.MIN_VALUE + 1, (int) Double.parseDouble(text.strip()));
+        } catch (NumberFormatException e) {
+            return EventFieldParser.INVALID_CAPACITY;
+        }
+    }
+
+    private static double referenceCost(String text) {
+        if (text.contains("Free") || text.equals("0.0") || text.isEmpty()) {
+            return 0.0;
+        }
+        String amount = text;
+        try {
+            if (amount.contains("$")) {
+                String[] parts = amount.split("\\$");
+                if (parts.length > 1) {
+                    amount = parts[1].replaceAll("[^\\d.]", "");
+                }
+            } else {
+                amount = amount.replaceAll("[^\\d.]", "");
+            }
+            return Double.parseDouble(amount);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static LocalDateTime referenceDateTime(String text) {
+        try {
+            return LocalDateTime.parse(text, DATE_TIME_FORMATTER);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static List<String> referenceStudentIds(String text) {
+        List<String> ids = new ArrayList<>();
+        if (!text.isEmpty()) {
+            for (String id : text.split(",")) {
+                String trimmed = id.trim();
+                if (!trimmed.isEmpty()) {
+                    ids.add(trimmed);
+                }
+            }
+        }
+        return ids;
+    }
+}
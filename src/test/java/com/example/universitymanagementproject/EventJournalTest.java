@@ -0,0 +1,96 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordAppendedAfterTornTailIsReplayed() throws IOException {
+        Path path = directory.resolve("events.journal");
+        EventJournal journal = new EventJournal(path);
+        journal.appendRegister("E1", "alice");
+        journal.close();
+        // A crash in the middle of writing "REGISTER\tE1\tbob\n"
+        Files.write(path, "REGISTER\tE1\tbo".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        journal = new EventJournal(path);
+        assertEquals(List.of("REGISTER E1 alice"), replay(journal));
+        journal.appendRegister("E2", "carol");
+        journal.close();
+
+        journal = new EventJournal(path);
+        assertEquals(List.of("REGISTER E1 alice", "REGISTER E2 carol"), replay(journal));
+        journal.close();
+    }
+
+    @Test
+    void putReplaysNullFieldsAsNullAndEmptyOnesAsEmpty() throws IOException {
+        Event event = new Event("Tab\tand\\N", "E1", null, null, "", LocalDateTime.of(2030, 1, 2, 3, 4), 5, 1.5);
+        event.registerStudent("\\N");
+        EventJournal journal = new EventJournal(directory.resolve("events.journal"));
+        journal.appendPut(event);
+        List<Event> replayed = new ArrayList<>();
+        journal.replay(new EventJournal.Replayer() {
+            @Override
+            public void put(Event event) {
+                replayed.add(event);
+            }
+
+            @Override
+            public void delete(String eventCode) {
+            }
+
+            @Override
+            public void register(String eventCode, String studentId) {
+            }
+
+            @Override
+            public void unregister(String eventCode, String studentId) {
+            }
+        });
+        journal.close();
+        assertEquals(1, replayed.size());
+        assertTrue(event.sameAs(replayed.get(0)), replayed.get(0).toString());
+    }
+
+    private static List<String> replay(EventJournal journal) throws IOException {
+        List<String> records = new ArrayList<>();
+        journal.replay(new EventJournal.Replayer() {
+            @Override
+            public void put(Event event) {
+                records.add("PUT " + event.getEventCode());
+            }
+
+            @Override
+            public void delete(String eventCode) {
+                records.add("DELETE " + eventCode);
+            }
+
+            @Override
+            public void register(String eventCode, String studentId) {
+                records.add("REGISTER " + eventCode + " " + studentId);
+            }
+
+            @Override
+            public void unregister(String eventCode, String studentId) {
+                records.add("UNREGISTER " + eventCode + " " + studentId);
+            }
+        });
+        return records;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventQueryTest {
+    private static final String[] WORDS = {"jazz", "java", "javafx", "concert", "con", "career", "fair", "Fair", "AI", "talk", "tea"};
+    private static final String[] LOCATIONS = {"Main Hall", "main hall ", "Library", "Room 101", "Gym"};
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Test
+    void indexedSearchMatchesLinearScan() {
+        Random random = new Random(5);
+        List<Event> initial = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            initial.add(randomEvent(random, "E" + i));
+        }
+        EventService eventService = new EventService(new InMemoryEventRepository(initial));
+
+        for (int step = 0; step < 2000; step++) {
+            // Keep changing the catalogue, so the index is checked after adds, edits, deletes and registrations
+            String code = "E" + random.nextInt(250);
+            switch (random.nextInt(4)) {
+                case 0 -> eventService.addEvent(randomEvent(random, code));
+                case 1 -> eventService.updateEvent(randomEvent(random, code));
+                case 2 -> eventService.deleteEvent(code);
+                default -> eventService.registerStudent(code, "student" + random.nextInt(20));
+            }
+
+            EventQuery query = randomQuery(random);
+            List<Event> expected = new ArrayList<>();
+            for (Event event : eventService.getAllEvents()) {
+                if (query.matches(event)) {
+                    expected.add(event);
+                }
+            }
+            expected.sort(Event.BY_DATE_TIME);
+            assertEquals(expected, eventService.findEvents(query), "step " + step);
+        }
+        eventService.close();
+    }
+
+    @Test
+    void textMatchesWordPrefixesIgnoringCase() {
+        Event event = new Event("Java Career Fair", "E1", "Meet employers, talk AI", "", "Main Hall", START, 10, 0.0);
+        assertTrue(EventQuery.all().text("jav car").matches(event));
+        assertTrue(EventQuery.all().text("EMPLOY").matches(event));
+        assertFalse(EventQuery.all().text("ava").matches(event));
+        assertTrue(EventQuery.all().location(" main HALL").matches(event));
+        assertFalse(EventQuery.all().between(START.plusMinutes(1), null).matches(event));
+        assertFalse(EventQuery.all().between(null, START).matches(event));
+    }
+
+    private static Event randomEvent(Random random, String code) {
+        Event event = new Event(words(random, 1 + random.nextInt(3)), code, words(random, random.nextInt(4)), "",
+                LOCATIONS[random.nextInt(LOCATIONS.length)], START.plusHours(random.nextInt(48)),
+                random.nextInt(4), random.nextInt(3) * 5.0);
+        List<String> students = new ArrayList<>();
+        for (int i = random.nextInt(event.getCapacity() + 1); i > 0; i--) {
+            students.add("student" + random.nextInt(20));
+        }
+        event.setRegisteredStudents(students.stream().distinct().toList());
+        return event;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : random.nextBoolean() ? " " : ", ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static EventQuery randomQuery(Random random) {
+        EventQuery query = EventQuery.all();
+        if (random.nextBoolean()) {
+            // Whole words, or prefixes of them as while typing
+            String text = words(random, 1 + random.nextInt(2));
+            query.text(text.substring(0, 1 + random.nextInt(text.length())));
+        }
+        if (random.nextInt(3) == 0) {
+            query.location(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+        }
+        if (random.nextInt(3) == 0) {
+            LocalDateTime from = random.nextBoolean() ? START.plusHours(random.nextInt(48)) : null;
+            LocalDateTime to = random.nextBoolean() ? START.plusHours(random.nextInt(48)) : null;
+            query.between(from, to);
+        }
+        if (random.nextInt(4) == 0) {
+            query.maxCost(random.nextInt(3) * 5.0);
+        }
+        if (random.nextInt(4) == 0) {
+            query.withSeatsLeft();
+        }
+        return query;
+    }
+}
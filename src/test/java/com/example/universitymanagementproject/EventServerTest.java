@@ -0,0 +1,87 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventServerTest {
+    private static final String FORM = "eventName=Concert&dateTime=2030-12-01+19%3A00&location=Main+Hall";
+
+    private EventServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        EventService eventService = new EventService(new InMemoryEventRepository(List.of(
+                new Event("Concert", "CONCERT", "Live music", "concert.jpg", "Main Hall",
+                        LocalDateTime.of(2030, 12, 1, 19, 0), 1, 0.0))));
+        server = new EventServer(eventService, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    private int request(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + server.getPort() + path)
+                .toURL().openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        try {
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    void registrationOutcomesMapToStatuses() throws IOException {
+        assertEquals(201, request("POST", "/events/CONCERT/registrations", "studentId=alice"));
+        assertEquals(409, request("POST", "/events/CONCERT/registrations", "studentId=alice"));
+        // Capacity 1, so the event is now full
+        assertEquals(409, request("POST", "/events/CONCERT/registrations", "studentId=bob"));
+        assertEquals(404, request("POST", "/events/MISSING/registrations", "studentId=bob"));
+        assertEquals(400, request("POST", "/events/CONCERT/registrations", ""));
+        assertEquals(404, request("DELETE", "/events/CONCERT/registrations/bob", null));
+        assertEquals(200, request("DELETE", "/events/CONCERT/registrations/alice", null));
+    }
+
+    @Test
+    void updateKeepsRegistrationsAndRejectsTooSmallCapacity() throws IOException {
+        assertEquals(201, request("POST", "/events/CONCERT/registrations", "studentId=alice"));
+        assertEquals(200, request("PUT", "/events/CONCERT", FORM + "&capacity=5"));
+        assertEquals(201, request("POST", "/events/CONCERT/registrations", "studentId=bob"));
+        assertEquals(400, request("PUT", "/events/CONCERT", FORM + "&capacity=1"));
+        assertEquals(404, request("PUT", "/events/MISSING", FORM + "&capacity=5"));
+    }
+
+    @Test
+    void onlyEventPathsAreRouted() throws IOException {
+        assertEquals(200, request("GET", "/events", null));
+        assertEquals(200, request("GET", "/events/CONCERT", null));
+        assertEquals(404, request("GET", "/events/MISSING", null));
+        assertEquals(404, request("GET", "/eventsX", null));
+        assertEquals(404, request("GET", "/events-foo/CONCERT", null));
+        assertEquals(404, request("GET", "/events/", null));
+        assertEquals(404, request("GET", "/events//CONCERT", null));
+        assertEquals(404, request("GET", "/events/CONCERT/other", null));
+        assertEquals(405, request("DELETE", "/events", null));
+    }
+}
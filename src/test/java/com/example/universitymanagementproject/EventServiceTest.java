@@ -0,0 +1,141 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventServiceTest {
+    private static Event event(String eventCode, int capacity) {
+        return new Event("Concert", eventCode, "Live music", "concert.jpg", "Main Hall",
+                LocalDateTime.of(2030, 12, 1, 19, 0), capacity, 0.0);
+    }
+
+    @Test
+    void concurrentRegistrationsFillEventExactlyOnce() throws Exception {
+        int capacity = 100;
+        int threads = 16;
+        InMemoryEventRepository repository = new InMemoryEventRepository(List.of(event("CONCERT", capacity)));
+        EventService eventService = new EventService(repository);
+
+        // Every thread tries the same students, so each seat is contended and every ID is tried more than once
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 3 * capacity; i++) {
+                    if (eventService.registerStudent("CONCERT", "student" + i)) {
+                        successes.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<String> registered = eventService.getEventByCode("CONCERT").orElseThrow().getRegisteredStudents();
+        assertEquals(capacity, registered.size());
+        assertEquals(capacity, new HashSet<>(registered).size());
+        assertEquals(capacity, successes.get());
+        List<String> writes = repository.registrationWrites();
+        assertEquals(capacity, writes.size());
+        assertEquals(capacity, new HashSet<>(writes).size());
+        eventService.close();
+    }
+
+    @Test
+    void registrationOutcomesTellWhyARegistrationWasRefused() {
+        EventService eventService = new EventService(new InMemoryEventRepository(List.of(event("CONCERT", 1))));
+        assertEquals(EventService.RegistrationOutcome.SUCCESS, eventService.register("CONCERT", "alice"));
+        assertEquals(EventService.RegistrationOutcome.DUPLICATE, eventService.register("CONCERT", "alice"));
+        assertEquals(EventService.RegistrationOutcome.FULL, eventService.register("CONCERT", "bob"));
+        assertEquals(EventService.RegistrationOutcome.NOT_FOUND, eventService.register("PARTY", "bob"));
+        assertEquals(EventService.RegistrationOutcome.NOT_REGISTERED, eventService.unregister("CONCERT", "bob"));
+        assertEquals(EventService.RegistrationOutcome.SUCCESS, eventService.unregister("CONCERT", "alice"));
+        eventService.close();
+    }
+
+    @Test
+    void updateEventDetailsKeepsRegistrations() {
+        EventService eventService = new EventService(new InMemoryEventRepository(List.of(event("CONCERT", 2))));
+        eventService.registerStudent("CONCERT", "alice");
+        eventService.registerStudent("CONCERT", "bob");
+
+        Event details = new Event("Open Air Concert", "CONCERT", "Live music", "concert.jpg", "Park",
+                LocalDateTime.of(2030, 12, 2, 19, 0), 5, 0.0);
+        assertTrue(eventService.updateEventDetails(details));
+        Event updated = eventService.getEventByCode("CONCERT").orElseThrow();
+        assertEquals("Park", updated.getLocation());
+        assertEquals(List.of("alice", "bob"), updated.getRegisteredStudents());
+
+        Event tooSmall = new Event("Concert", "CONCERT", "Live music", "concert.jpg", "Park",
+                LocalDateTime.of(2030, 12, 2, 19, 0), 1, 0.0);
+        assertThrows(IllegalArgumentException.class, () -> eventService.updateEventDetails(tooSmall));
+        assertEquals(5, eventService.getEventByCode("CONCERT").orElseThrow().getCapacity());
+        eventService.close();
+    }
+
+    @Test
+    void eventsForStudentMatchScanOfAllEvents() {
+        List<String> eventCodes = List.of("E0", "E1", "E2", "E3", "E4", "E5");
+        List<String> students = List.of("alice", "bob", "carol", "dave", "erin");
+        EventService eventService = new EventService(new InMemoryEventRepository(List.of()));
+        Random random = new Random(42);
+        // Each added or updated event gets a new start time, so date-time order has no ties
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        int nextSlot = 0;
+
+        for (int i = 0; i < 3000; i++) {
+            String eventCode = eventCodes.get(random.nextInt(eventCodes.size()));
+            String studentId = students.get(random.nextInt(students.size()));
+            Event existing = eventService.getEventByCode(eventCode).orElse(null);
+            int operation = random.nextInt(10);
+            if (existing == null) {
+                LocalDateTime dateTime = start.plusMinutes(nextSlot++);
+                assertTrue(eventService.addEvent(new Event("Event", eventCode, "", "", "Hall", dateTime, 3, 0.0)));
+            } else if (operation < 4) {
+                eventService.registerStudent(eventCode, studentId);
+            } else if (operation < 7) {
+                eventService.unregisterStudent(eventCode, studentId);
+            } else if (operation < 9) {
+                int capacity = existing.getRegisteredStudents().size() + random.nextInt(3);
+                LocalDateTime dateTime = start.plusMinutes(nextSlot++);
+                assertTrue(eventService.updateEventDetails(
+                        new Event("Event", eventCode, "", "", "Hall", dateTime, capacity, 0.0)));
+            } else {
+                assertTrue(eventService.deleteEvent(eventCode));
+            }
+
+            for (String student : students) {
+                List<String> scanned = new ArrayList<>();
+                eventService.getAllEvents().stream()
+                        .filter(event -> event.isRegistered(student))
+                        .sorted(Event.BY_DATE_TIME)
+                        .forEach(event -> scanned.add(event.getEventCode()));
+                List<String> indexed = new ArrayList<>();
+                eventService.getEventsForStudent(student).forEach(event -> indexed.add(event.getEventCode()));
+                assertEquals(scanned, indexed, "events for " + student + " after operation " + i);
+            }
+        }
+        eventService.close();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.universitymanagementproject;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSheetWriterTest {
+    // Text the XML and the cell formatting must carry through unchanged
+    private static final String[] AWKWARD_TEXT = {"", "<b>&amp;</b> \"quoted\" 'single'", "Café 日本語 😀",
+            "  padded  ", "00123", "1.5E3", "2030-12-01 19:00", "TRUE", "=SUM(A1)", "tab\there", "line\nbreak"};
+
+    @TempDir
+    Path directory;
+
+    private static Event randomEvent(Random random, int index) {
+        Event event = new Event(pick(random), "EV" + index + pick(random).trim(), pick(random), "images/" + index + ".png",
+                pick(random), LocalDateTime.of(2030, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000)),
+                random.nextInt(20), random.nextInt(4) * 2.5);
+        int registrations = random.nextInt(event.getCapacity() + 1);
+        for (int i = 0; i < registrations; i++) {
+            event.registerStudent("S" + random.nextInt(100));
+        }
+        return event;
+    }
+
+    private static String pick(Random random) {
+        return AWKWARD_TEXT[random.nextInt(AWKWARD_TEXT.length)];
+    }
+
+    // A workbook with the five sheets in ExcelDataManager's order, one student, and an events sheet holding only its header
+    private static void writeWorkbook(Path path) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            for (String name : new String[]{"Subjects", "Courses", "Students", "Faculties", "Events"}) {
+                workbook.createSheet(name).createRow(0).createCell(0).setCellValue("ID");
+            }
+            workbook.getSheetAt(ExcelDataManager.STUDENT_SHEET_INDEX).createRow(1).createCell(0).setCellValue("S1");
+            workbook.getSheetAt(ExcelDataManager.STUDENT_SHEET_INDEX).getRow(1)
+                    .createCell(ExcelDataManager.STUDENT_PASSWORD_COLUMN).setCellValue("secret");
+            try (OutputStream out = Files.newOutputStream(path)) {
+                workbook.write(out);
+            }
+        }
+    }
+
+    private static void assertRead(List<Event> expected, String filePath) throws IOException {
+        for (ExcelDataManager.ReadMode mode : new ExcelDataManager.ReadMode[]{
+                ExcelDataManager.ReadMode.DOM, ExcelDataManager.ReadMode.STREAMING}) {
+            List<Event> read = new ExcelDataManager(filePath, mode).readEvents();
+            assertEquals(expected.size(), read.size(), mode.name());
+            for (int i = 0; i < expected.size(); i++) {
+                assertTrue(expected.get(i).sameAs(read.get(i)), mode + " row " + (i + 2) + ": " + read.get(i));
+            }
+        }
+    }
+
+    @Test
+    void streamedSheetReadsBackInBothModes() throws IOException {
+        Path workbook = directory.resolve("UMS_Data.xlsx");
+        writeWorkbook(workbook);
+        String filePath = workbook.toString();
+        Random random = new Random(11);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            events.add(randomEvent(random, i));
+        }
+
+        // Called directly, so a fallback to the DOM writer cannot hide a failure
+        assertTrue(EventSheetWriter.write(filePath, ExcelDataManager.EVENT_SHEET_INDEX, events));
+        assertRead(events, filePath);
+
+        // The DOM writer must still understand a workbook the streaming writer produced, and vice versa
+        List<Event> fewer = events.subList(0, 100);
+        new ExcelDataManager(filePath, ExcelDataManager.ReadMode.DOM, ExcelDataManager.WriteMode.DOM).writeEvents(fewer);
+        assertRead(fewer, filePath);
+        assertTrue(EventSheetWriter.write(filePath, ExcelDataManager.EVENT_SHEET_INDEX, events));
+        assertRead(events, filePath);
+
+        // The other sheets are copied through
+        Map<String, String> students = new HashMap<>();
+        Map<String, String> faculties = new HashMap<>();
+        new ExcelDataManager(filePath, ExcelDataManager.ReadMode.STREAMING).readCredentials(students, faculties);
+        assertEquals(Map.of("S1", "secret"), students);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EventTableModelTest {
+    private static Event event(String eventCode, String eventName) {
+        return new Event(eventName, eventCode, "", "default_header.png", "Main Hall",
+                LocalDateTime.of(2030, 12, 1, 19, 0), 10, 0.0);
+    }
+
+    private static List<String> codes(EventTableModel model) {
+        List<String> codes = new ArrayList<>();
+        for (Event event : model.getItems()) {
+            codes.add(event.getEventCode());
+        }
+        return codes;
+    }
+
+    @Test
+    void rejectedEditsAreRolledBack() {
+        EventTableModel model = new EventTableModel(event -> {});
+        Event a = event("A", "Concert");
+        Event b = event("B", "Talk");
+        Event c = event("C", "Party");
+        model.load(List.of(a, b, c));
+
+        Runnable undoAdd = model.showAdded(event("D", "Dinner"));
+        assertEquals(List.of("A", "B", "C", "D"), codes(model));
+        undoAdd.run();
+        assertEquals(List.of("A", "B", "C"), codes(model));
+
+        Runnable undoReplace = model.showReplaced(event("B", "Lecture"));
+        assertEquals("Lecture", model.find("B").getEventName());
+        undoReplace.run();
+        assertSame(b, model.find("B"));
+
+        Runnable undoRemove = model.showRemoved("B");
+        assertEquals(List.of("A", "C"), codes(model));
+        undoRemove.run();
+        assertEquals(List.of("A", "B", "C"), codes(model));
+        assertSame(c, model.find("C"));
+    }
+
+    @Test
+    void rollbackKeepsARowAConfirmedChangeReplaced() {
+        EventTableModel model = new EventTableModel(event -> {});
+        model.load(List.of(event("A", "Concert")));
+
+        Runnable undoReplace = model.showReplaced(event("A", "Open Air Concert"));
+        // Someone else's edit of the same event was confirmed in the meantime
+        Event confirmed = event("A", "Jazz Night");
+        model.showReplaced(confirmed);
+        undoReplace.run();
+        assertSame(confirmed, model.find("A"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.universitymanagementproject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// EventRepository over a map, recording every registration write it is asked for
+class InMemoryEventRepository implements EventRepository {
+    private final Map<String, Event> events = new LinkedHashMap<>();
+    private final List<String> registrationWrites = new ArrayList<>();
+
+    InMemoryEventRepository(List<Event> events) {
+        for (Event event : events) {
+            this.events.put(event.getEventCode(), event);
+        }
+    }
+
+    synchronized List<String> registrationWrites() {
+        return new ArrayList<>(registrationWrites);
+    }
+
+    @Override
+    public synchronized List<Event> findAll() {
+        return new ArrayList<>(events.values());
+    }
+
+    @Override
+    public synchronized Optional<Event> findByCode(String eventCode) {
+        return Optional.ofNullable(events.get(eventCode));
+    }
+
+    @Override
+    public synchronized void insert(Event event) {
+        events.put(event.getEventCode(), event);
+    }
+
+    @Override
+    public synchronized void update(Event event) {
+        events.put(event.getEventCode(), event);
+    }
+
+    @Override
+    public synchronized void delete(String eventCode) {
+        events.remove(eventCode);
+    }
+
+    @Override
+    public synchronized void addRegistration(String eventCode, String studentId) {
+        registrationWrites.add("+" + eventCode + " " + studentId);
+    }
+
+    @Override
+    public synchronized void removeRegistration(String eventCode, String studentId) {
+        registrationWrites.add("-" + eventCode + " " + studentId);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcEventRepositoryTest {
+    private static final String URL = "jdbc:h2:mem:jdbc-event-repository-test";
+
+    // Keeps the in-memory database alive between the repository's connections and lets the test inspect its tables
+    private Connection inspector;
+    private JdbcEventRepository repository;
+
+    @BeforeEach
+    void open() throws SQLException, IOException {
+        inspector = DriverManager.getConnection(URL, "sa", "");
+        repository = new JdbcEventRepository(URL);
+    }
+
+    @AfterEach
+    void close() throws SQLException, IOException {
+        repository.close();
+        try (Statement statement = inspector.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        inspector.close();
+    }
+
+    private static Event event(Random random, String code) {
+        return new Event("Event " + random.nextInt(100), code, random.nextBoolean() ? null : "About " + code,
+                "images/" + random.nextInt(3) + ".png", random.nextBoolean() ? "Main Hall" : "Library",
+                LocalDateTime.of(2030, 1, 1, 9, 0).plusMinutes(random.nextInt(100_000)), 1000, random.nextInt(4) * 2.5);
+    }
+
+    private void assertMatches(Map<String, Event> model) throws IOException {
+        List<Event> stored = repository.findAll();
+        List<Event> expected = new ArrayList<>(model.values());
+        assertEquals(expected.size(), stored.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i).sameAs(stored.get(i)), stored.get(i).toString());
+            // Registrations in the order EventService presents them
+            assertEquals(expected.get(i).getRegisteredStudents(), stored.get(i).getRegisteredStudents());
+        }
+        for (Event event : expected) {
+            assertTrue(event.sameAs(repository.findByCode(event.getEventCode()).orElseThrow()));
+        }
+    }
+
+    private int registrationRows(String eventCode) throws SQLException {
+        try (Statement statement = inspector.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT COUNT(*) FROM event_registrations WHERE event_code = '" + eventCode + "'")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    @Test
+    void operationsMatchModel() throws IOException {
+        Random random = new Random(13);
+        // Insertion order is table order; an update keeps the event's place
+        Map<String, Event> model = new LinkedHashMap<>();
+        for (int step = 0; step < 1500; step++) {
+            List<String> codes = new ArrayList<>(model.keySet());
+            String existing = codes.isEmpty() ? null : codes.get(random.nextInt(codes.size()));
+            int operation = existing == null ? 0 : random.nextInt(6);
+            switch (operation) {
+                case 0 -> {
+                    Event event = event(random, "EV" + step);
+                    for (int i = random.nextInt(4); i > 0; i--) {
+                        event.registerStudent("S" + random.nextInt(50));
+                    }
+                    repository.insert(event);
+                    model.put(event.getEventCode(), event.copy());
+                }
+                case 1 -> {
+                    Event event = event(random, existing);
+                    event.setRegisteredStudents(List.of("S" + random.nextInt(50)));
+                    repository.update(event);
+                    model.put(existing, event.copy());
+                }
+                case 2 -> {
+                    repository.delete(existing);
+                    model.remove(existing);
+                }
+                case 3, 4 -> {
+                    // Registering twice is kept as one registration
+                    String studentId = "S" + random.nextInt(50);
+                    repository.addRegistration(existing, studentId);
+                    model.get(existing).registerStudent(studentId);
+                }
+                default -> {
+                    String studentId = "S" + random.nextInt(50);
+                    repository.removeRegistration(existing, studentId);
+                    model.get(existing).unregisterStudent(studentId);
+                }
+            }
+            if (step % 100 == 0) {
+                assertMatches(model);
+            }
+        }
+        assertMatches(model);
+    }
+
+    @Test
+    void deletingAnEventRemovesItsRegistrations() throws IOException, SQLException {
+        Random random = new Random(2);
+        Event event = event(random, "EV1");
+        event.setRegisteredStudents(List.of("alice", "bob"));
+        repository.insert(event);
+        assertEquals(2, registrationRows("EV1"));
+
+        repository.delete("EV1");
+        assertEquals(0, registrationRows("EV1"));
+        assertFalse(repository.findByCode("EV1").isPresent());
+        // A new event with the code does not inherit them
+        repository.insert(event(random, "EV1"));
+        assertEquals(List.of(), repository.findByCode("EV1").orElseThrow().getRegisteredStudents());
+    }
+
+    @Test
+    void replaceAllKeepsFirstOfDuplicatesAcrossBatches() throws IOException {
+        Random random = new Random(3);
+        repository.insert(event(random, "OLD"));
+        // More events than one import batch holds
+        List<Event> events = new ArrayList<>();
+        Map<String, Event> model = new LinkedHashMap<>();
+        for (int i = 0; i < 10_500; i++) {
+            Event event = event(random, "EV" + i);
+            event.registerStudent("S" + i % 50);
+            events.add(event);
+            model.put(event.getEventCode(), event);
+        }
+        events.add(event(random, "EV0"));
+        repository.replaceAll(events);
+        assertEquals(model.size(), repository.findAll().size());
+        assertFalse(repository.findByCode("OLD").isPresent());
+        assertMatches(model);
+    }
+}
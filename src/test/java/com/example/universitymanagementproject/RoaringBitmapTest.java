@@ -0,0 +1,80 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoaringBitmapTest {
+    private static void assertSame(TreeSet<Integer> expected, RoaringBitmap actual, String operation) {
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), actual.toArray(), operation);
+        assertEquals(expected.size(), actual.cardinality(), operation);
+    }
+
+    @Test
+    void operationsMatchTreeSet() {
+        Random random = new Random(1);
+        for (int round = 0; round < 200; round++) {
+            // Small ranges give one container, 70000 gives full containers that become bitmaps
+            int range = new int[]{100, 70_000, 200_000, 9_000}[round % 4];
+            // Different densities pair array containers with bitmap containers in both directions
+            int countA = random.nextInt(round % 5 == 0 ? 20_000 : 3_000);
+            int countB = random.nextInt(round % 3 == 0 ? 20_000 : 3_000);
+            RoaringBitmap a = new RoaringBitmap();
+            RoaringBitmap b = new RoaringBitmap();
+            TreeSet<Integer> setA = new TreeSet<>();
+            TreeSet<Integer> setB = new TreeSet<>();
+            for (int i = 0; i < countA; i++) {
+                int value = random.nextInt(range);
+                assertEquals(setA.add(value), a.add(value));
+            }
+            for (int i = 0; i < countB; i++) {
+                int value = random.nextInt(range);
+                assertEquals(setB.add(value), b.add(value));
+            }
+            for (int i = 0; i < countA / 2; i++) {
+                int value = random.nextInt(range);
+                assertEquals(setA.remove(value), a.remove(value));
+            }
+            assertSame(setA, a, "add/remove");
+            assertSame(setB, b, "add");
+
+            TreeSet<Integer> intersection = new TreeSet<>(setA);
+            intersection.retainAll(setB);
+            assertSame(intersection, a.and(b), "and");
+            assertEquals(intersection.size(), a.andCardinality(b), "andCardinality");
+
+            TreeSet<Integer> union = new TreeSet<>(setA);
+            union.addAll(setB);
+            assertSame(union, a.or(b), "or");
+
+            TreeSet<Integer> difference = new TreeSet<>(setA);
+            difference.removeAll(setB);
+            assertSame(difference, a.andNot(b), "andNot");
+            TreeSet<Integer> reverseDifference = new TreeSet<>(setB);
+            reverseDifference.removeAll(setA);
+            assertSame(reverseDifference, b.andNot(a), "andNot reversed");
+
+            assertSame(setA, a.copy(), "copy");
+            assertEquals(a, a.copy());
+            for (int i = 0; i < 200; i++) {
+                int value = random.nextInt(range);
+                assertEquals(setA.contains(value), a.contains(value), "contains");
+            }
+        }
+    }
+
+    @Test
+    void andNotOfEqualBitmapsIsEmpty() {
+        RoaringBitmap dense = new RoaringBitmap();
+        for (int value = 0; value < 10_000; value++) {
+            dense.add(value);
+        }
+        RoaringBitmap difference = dense.andNot(dense.copy());
+        assertEquals(0, difference.cardinality());
+        assertEquals(new RoaringBitmap(), difference);
+    }
+}
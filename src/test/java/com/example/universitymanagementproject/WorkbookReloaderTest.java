@@ -0,0 +1,69 @@
+package com.example.universitymanagementproject;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WorkbookReloaderTest {
+    @TempDir
+    Path directory;
+
+    // A workbook with the five sheets in ExcelDataManager's order and the given credentials
+    private static void writeWorkbook(Path path, Map<String, String> students, Map<String, String> faculties)
+            throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            for (String name : new String[]{"Subjects", "Courses", "Students", "Faculties", "Events"}) {
+                workbook.createSheet(name).createRow(0).createCell(0).setCellValue("ID");
+            }
+            writeCredentials(workbook.getSheetAt(ExcelDataManager.STUDENT_SHEET_INDEX),
+                    ExcelDataManager.STUDENT_PASSWORD_COLUMN, students);
+            writeCredentials(workbook.getSheetAt(ExcelDataManager.FACULTY_SHEET_INDEX),
+                    ExcelDataManager.FACULTY_PASSWORD_COLUMN, faculties);
+            try (OutputStream out = Files.newOutputStream(path)) {
+                workbook.write(out);
+            }
+        }
+    }
+
+    private static void writeCredentials(Sheet sheet, int passwordColumn, Map<String, String> credentials) {
+        for (Map.Entry<String, String> entry : credentials.entrySet()) {
+            Row row = sheet.createRow(sheet.getLastRowNum() + 1);
+            row.createCell(0).setCellValue(entry.getKey());
+            row.createCell(passwordColumn).setCellValue(entry.getValue());
+        }
+    }
+
+    @Test
+    void outsideEditUpdatesCredentials() throws Exception {
+        Path workbook = directory.resolve("UMS_Data.xlsx");
+        writeWorkbook(workbook, Map.of("S1", "one", "S2", "two"), Map.of("F1", "staff"));
+        Map<String, String> students = new ConcurrentHashMap<>(Map.of("S1", "one", "S2", "two"));
+        Map<String, String> faculties = new ConcurrentHashMap<>(Map.of("F1", "staff"));
+
+        WorkbookReloader reloader = WorkbookReloader.start(workbook.toString(), students, faculties);
+        try {
+            // S1 changes password, S2 is removed and S3 added; the faculty sheet is rewritten unchanged
+            writeWorkbook(workbook, Map.of("S1", "uno", "S3", "three"), Map.of("F1", "staff"));
+            Map<String, String> expected = Map.of("S1", "uno", "S3", "three");
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!students.equals(expected) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+        } finally {
+            reloader.close();
+        }
+        assertEquals(Map.of("S1", "uno", "S3", "three"), students);
+        assertEquals(Map.of("F1", "staff"), faculties);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkbookSnapshotTest {
+    @TempDir
+    Path directory;
+
+    // A package with one uncompressed part, so parts of equal length give files of equal size
+    private static void writePackage(Path path, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ZipEntry entry = new ZipEntry("xl/worksheets/sheet5.xml");
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(bytes.length);
+        entry.setCrc(crc.getValue());
+        entry.setTime(0);
+        try (OutputStream file = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(file)) {
+            zip.putNextEntry(entry);
+            zip.write(bytes);
+            zip.closeEntry();
+        }
+    }
+
+    @Test
+    void editKeepingSizeAndTimeMakesSnapshotStale() throws IOException {
+        Path workbook = directory.resolve("UMS_Data.xlsx");
+        String workbookPath = workbook.toString();
+        writePackage(workbook, "<row>first</row>");
+        Event event = new Event("Concert", "CONCERT", null, "concert.jpg", "Main Hall",
+                LocalDateTime.of(2030, 12, 1, 19, 0), 10, 5.0);
+        event.registerStudent("alice");
+        WorkbookSnapshot.write(workbookPath, null, List.of(event), Map.of("alice", "pw"), Map.of("prof", "pw2"));
+
+        assertTrue(WorkbookSnapshot.isCurrent(workbookPath));
+        List<Event> events = WorkbookSnapshot.readEvents(workbookPath);
+        assertEquals(1, events.size());
+        assertTrue(event.sameAs(events.get(0)));
+        Map<String, String> students = new HashMap<>();
+        Map<String, String> faculties = new HashMap<>();
+        assertTrue(WorkbookSnapshot.readCredentials(workbookPath, students, faculties));
+        assertEquals(Map.of("alice", "pw"), students);
+        assertEquals(Map.of("prof", "pw2"), faculties);
+
+        // An outside save in the same clock tick, of the same length
+        long size = Files.size(workbook);
+        FileTime modified = Files.getLastModifiedTime(workbook);
+        writePackage(workbook, "<row>other</row>");
+        Files.setLastModifiedTime(workbook, modified);
+        assertEquals(size, Files.size(workbook));
+
+        assertFalse(WorkbookSnapshot.isCurrent(workbookPath));
+        assertNull(WorkbookSnapshot.readEvents(workbookPath));
+        assertFalse(WorkbookSnapshot.readCredentials(workbookPath, new HashMap<>(), new HashMap<>()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.universitymanagementproject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindPersisterTest {
+    private static final List<Event> EVENTS = List.of(new Event("Open Day", "EV1", "Campus tour", "default",
+            "Main Hall", LocalDateTime.of(2030, 5, 1, 10, 0), 50, 0));
+
+    @TempDir
+    Path directory;
+
+    // No timer flushes during a test
+    private static WriteBehindPersister start(Path workbook, Supplier<List<Event>> snapshot) {
+        return WriteBehindPersister.start(new ExcelDataManager(workbook.toString(), ExcelDataManager.ReadMode.STREAMING),
+                snapshot, () -> {}, 3_600_000, 1000);
+    }
+
+    @Test
+    void failedWriteKeepsChangesPending() {
+        WriteBehindPersister persister = start(directory.resolve("missing").resolve("UMS_Data.xlsx"), () -> EVENTS);
+        persister.markDirty("EV1");
+        assertThrows(IOException.class, persister::flush);
+        assertTrue(persister.isDirty("EV1"));
+        persister.close();
+    }
+
+    @Test
+    void markersClearOnlyAfterTheirChangeIsWritten() throws IOException {
+        WriteBehindPersister[] persister = new WriteBehindPersister[1];
+        boolean[] dirtyWhileWriting = new boolean[1];
+        // The second event changes after its marker was read but before the snapshot is written
+        persister[0] = start(directory.resolve("UMS_Data.xlsx"), () -> {
+            dirtyWhileWriting[0] = persister[0].isDirty("EV1");
+            persister[0].markDirty("EV2");
+            return EVENTS;
+        });
+        persister[0].markDirty("EV1");
+        persister[0].markDirty("EV2");
+        persister[0].flush();
+        assertTrue(dirtyWhileWriting[0]);
+        assertFalse(persister[0].isDirty("EV1"));
+        assertTrue(persister[0].isDirty("EV2"));
+        persister[0].close();
+    }
+
+    @Test
+    void concurrentMarksPastBatchSizeTriggerFlush() throws Exception {
+        CountDownLatch flushed = new CountDownLatch(1);
+        WriteBehindPersister persister = WriteBehindPersister.start(
+                new ExcelDataManager(directory.resolve("UMS_Data.xlsx").toString(), ExcelDataManager.ReadMode.STREAMING),
+                () -> EVENTS, flushed::countDown, 3_600_000, 10);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 4; i++) {
+                    persister.markDirty("EV" + offset + "-" + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // The timer is an hour away, so only the batch size can have triggered this
+        assertTrue(flushed.await(10, TimeUnit.SECONDS));
+        persister.close();
+    }
+}